@@ -0,0 +1,123 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the gateway with {@value #CONNECTIONS} simultaneous connections, on Tomcat's platform thread pool
+ * versus virtual threads. Every caller thread keeps one request in flight against a stub server that takes
+ * {@value #SERVER_LATENCY_MS} ms to answer, so the gateway spends almost all of its time blocked on the
+ * outbound call. The sampled latency distribution is reported per mode; throughput is connections divided by
+ * the mean latency.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(GatewayConcurrencyBenchmark.CONNECTIONS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Dsun.net.httpserver.nodelay=true",
+        "-Dsun.net.httpserver.maxIdleConnections=4096"})
+public class GatewayConcurrencyBenchmark {
+    static final int CONNECTIONS = 1024;
+    static final int SERVER_LATENCY_MS = 50;
+    private static final byte[] USER = "{\"id\":1,\"name\":\"User\",\"email\":\"user@benchmark.test\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+    private ConfigurableApplicationContext gateway;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        upstreamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 2 * CONNECTIONS);
+        upstream.createContext("/users", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(SERVER_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, USER.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(USER);
+            }
+        });
+        upstream.setExecutor(upstreamExecutor);
+        upstream.start();
+
+        // The connection pool is sized above the connection count and load shedding is off, so that only the
+        // thread model differs.
+        gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.accept-count=" + CONNECTIONS,
+                        "--shareit-server.url=http://localhost:" + upstream.getAddress().getPort(),
+                        "--shareit-server.http.max-connections=" + 2 * CONNECTIONS,
+                        "--shareit-server.http.max-connections-per-route=" + 2 * CONNECTIONS,
+                        "--shareit-gateway.concurrency-limit.enabled=false",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN",
+                        "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+        int gatewayPort = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+
+        client = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + gatewayPort + "/users/1"))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        gateway.close();
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public byte[] getUser() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency the gateway adds on top of the server: item search is proxied to a stub server that
+ * answers with a canned page, once with the gateway re-serializing the body ({@code object}) and once forwarding
+ * it as raw bytes ({@code passthrough}). {@link #direct()} calls the stub without the gateway, so the gateway
+ * overhead is the difference between the two.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class GatewayProxyBenchmark {
+
+    @Param({"object", "passthrough"})
+    private String mode;
+
+    @Param({"1", "20", "100"})
+    private int items;
+
+    private HttpServer upstream;
+    private ExecutorService upstreamExecutor;
+    private ConfigurableApplicationContext gateway;
+    private HttpClient client;
+    private HttpRequest gatewayRequest;
+    private HttpRequest directRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] page = page(items);
+        upstreamExecutor = Executors.newFixedThreadPool(8);
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/items/search", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.getResponseHeaders().set("X-Total-Hits", String.valueOf(items));
+            exchange.getResponseHeaders().set("X-Total-Hits-Relation", "eq");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(page);
+            }
+        });
+        upstream.setExecutor(upstreamExecutor);
+        upstream.start();
+        String upstreamUrl = "http://localhost:" + upstream.getAddress().getPort();
+
+        gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .run(
+                        "--server.port=0",
+                        "--shareit-server.url=" + upstreamUrl,
+                        "--shareit-server.passthrough=" + "passthrough".equals(mode),
+                        "--logging.level.root=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN",
+                        "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+        int gatewayPort = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+
+        client = HttpClient.newHttpClient();
+        gatewayRequest = searchRequest("http://localhost:" + gatewayPort);
+        directRequest = searchRequest(upstreamUrl);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        gateway.close();
+        upstream.stop(0);
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public byte[] gateway() throws IOException, InterruptedException {
+        return send(gatewayRequest);
+    }
+
+    @Benchmark
+    public byte[] direct() throws IOException, InterruptedException {
+        return send(directRequest);
+    }
+
+    private byte[] send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private HttpRequest searchRequest(String baseUrl) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/items/search?text=drill&from=0&size=" + items))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private static byte[] page(int items) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= items; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"name\":\"Drill ").append(i).append('"')
+                    .append(",\"description\":\"Good condition, cordless, set ").append(i * 31 % 1000).append('"')
+                    .append(",\"available\":true,\"requestId\":null}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * What the workload needs to know about the seeded data, and the calendar new bookings are placed on.
+ * Every booking gets its own slot, so bookings never overlap and are never rejected for it.
+ */
+final class Dataset {
+    static final List<String> NAMES = List.of("Drill", "Hammer", "Saw", "Ladder", "Tent", "Bike", "Kayak",
+            "Projector", "Camera", "Mixer");
+    static final List<String> ADJECTIVES = List.of("cordless", "heavy", "compact", "folding", "electric", "manual",
+            "vintage");
+
+    private final List<Long> users;
+    private final List<Item> items;
+    private final LocalDateTime calendarStart = LocalDateTime.now().plusDays(1).withNano(0);
+    private final AtomicLong slots = new AtomicLong();
+
+    Dataset(List<Long> users, List<Item> items) {
+        this.users = List.copyOf(users);
+        this.items = List.copyOf(items);
+    }
+
+    List<Long> users() {
+        return users;
+    }
+
+    List<Item> items() {
+        return items;
+    }
+
+    Slot nextSlot() {
+        LocalDateTime start = calendarStart.plusMinutes(2 * slots.getAndIncrement());
+        return new Slot(start, start.plusMinutes(1));
+    }
+
+    record Item(long id, long ownerId) {
+    }
+
+    record Slot(LocalDateTime start, LocalDateTime end) {
+    }
+}
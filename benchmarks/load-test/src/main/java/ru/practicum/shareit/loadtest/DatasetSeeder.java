@@ -0,0 +1,93 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds users, their items and approved future bookings through the server's API, bypassing the gateway so that
+ * its rate limits do not slow seeding down.
+ */
+final class DatasetSeeder {
+    private static final int CONCURRENCY = 16;
+
+    private final HttpClient httpClient;
+    private final ShareItApi server;
+
+    DatasetSeeder(HttpClient httpClient, ShareItApi server) {
+        this.httpClient = httpClient;
+        this.server = server;
+    }
+
+    Dataset seed(LoadTestOptions options) throws InterruptedException {
+        List<Long> users = parallel(options.users(), i -> server.id(send(server.post("/users", null,
+                Map.of("name", "User " + i, "email", "user" + i + "@load.test")))));
+
+        List<Dataset.Item> items = parallel(options.users() * options.itemsPerUser(), i -> {
+            long ownerId = users.get(i % users.size());
+            Map<String, Object> item = Map.of(
+                    "name", Dataset.NAMES.get(i % Dataset.NAMES.size()) + " " + i,
+                    "description", "Good condition, " + Dataset.ADJECTIVES.get(i % Dataset.ADJECTIVES.size())
+                            + ", set " + i,
+                    "available", true);
+            return new Dataset.Item(server.id(send(server.post("/items", ownerId, item))), ownerId);
+        });
+
+        Dataset dataset = new Dataset(users, items);
+        parallel(items.size() * options.bookingsPerItem(), i -> {
+            int itemIndex = i % items.size();
+            Dataset.Item item = items.get(itemIndex);
+            // Items were handed out to users round-robin; the booker is always someone other than the owner.
+            int bookerIndex = itemIndex % users.size() + 1 + i / items.size() % (users.size() - 1);
+            long bookerId = users.get(bookerIndex % users.size());
+            Dataset.Slot slot = dataset.nextSlot();
+            long bookingId = server.id(send(server.post("/bookings", bookerId,
+                    Map.of("itemId", item.id(), "start", slot.start(), "end", slot.end()))));
+            return send(server.patch("/bookings/" + bookingId + "?approved=true", item.ownerId()));
+        });
+        return dataset;
+    }
+
+    private byte[] send(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                        + response.statusCode() + ": " + new String(response.body()));
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> List<T> parallel(int count, IntFunction<T> task) throws InterruptedException {
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY)) {
+            List<Callable<T>> tasks = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                tasks.add(() -> task.apply(index));
+            }
+            List<T> results = new ArrayList<>(count);
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Starts a Spring Boot executable jar inside this JVM, in a class loader that sees nothing but the application
+ * and the platform classes. The server and the gateway have classes with the same names, so each gets its own
+ * loader. The jar is unpacked first: Boot's launcher reads nested jars through a URL handler that the JDK only
+ * looks up on the system class path, which an isolated loader cannot provide.
+ */
+final class IsolatedApplication {
+    private static final String BOOT_INF = "BOOT-INF/";
+    private static final String TOMCAT_URL_HANDLER_FACTORY =
+            "org.apache.catalina.webresources.TomcatURLStreamHandlerFactory";
+
+    private IsolatedApplication() {
+    }
+
+    /**
+     * Runs the application's main method and returns once it has started, that is once its web server is
+     * listening.
+     */
+    static void start(String name, Path jar, Path workDirectory, List<String> args) throws Exception {
+        Path directory = workDirectory.resolve(name);
+        String startClass = unpack(jar, directory);
+        URLClassLoader loader = new URLClassLoader(name, classPath(directory), ClassLoader.getPlatformClassLoader());
+        disableTomcatUrlHandlers(loader);
+        Method main = loader.loadClass(startClass).getMethod("main", String[].class);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                main.invoke(null, (Object) args.toArray(String[]::new));
+            } catch (InvocationTargetException e) {
+                failure.set(e.getCause());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                failure.set(e);
+            }
+        }, name + "-main");
+        thread.setContextClassLoader(loader);
+        thread.start();
+        thread.join();
+        if (failure.get() != null) {
+            throw new IllegalStateException(name + " failed to start", failure.get());
+        }
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Embedded Tomcat installs a JVM-wide URL handler factory, which can only be done once, so a second Tomcat
+     * fails to start unless the factory is disabled. Applications do not need it: they are not deployed as wars.
+     */
+    private static void disableTomcatUrlHandlers(ClassLoader loader) throws ReflectiveOperationException {
+        try {
+            loader.loadClass(TOMCAT_URL_HANDLER_FACTORY).getMethod("disable").invoke(null);
+        } catch (ClassNotFoundException e) {
+            // Not a Tomcat application.
+        }
+    }
+
+    private static String unpack(Path jar, Path directory) throws IOException {
+        if (Files.exists(directory)) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                if (!entry.getName().startsWith(BOOT_INF) || entry.isDirectory()) {
+                    continue;
+                }
+                Path target = directory.resolve(entry.getName()).normalize();
+                if (!target.startsWith(directory)) {
+                    throw new IOException("Entry outside of the jar: " + entry.getName());
+                }
+                Files.createDirectories(target.getParent());
+                try (InputStream in = jarFile.getInputStream(entry)) {
+                    Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            return jarFile.getManifest().getMainAttributes().getValue("Start-Class");
+        }
+    }
+
+    private static URL[] classPath(Path directory) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        urls.add(directory.resolve(BOOT_INF + "classes/").toUri().toURL());
+        // Lines of the form: - "BOOT-INF/lib/spring-aop-6.1.11.jar"
+        for (String line : Files.readAllLines(directory.resolve(BOOT_INF + "classpath.idx"), StandardCharsets.UTF_8)) {
+            String entry = line.trim();
+            if (entry.startsWith("- \"") && entry.endsWith("\"")) {
+                urls.add(directory.resolve(entry.substring(3, entry.length() - 1)).toUri().toURL());
+            }
+        }
+        return urls.toArray(URL[]::new);
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test of the gateway → server → database path. Starts the server on an in-memory H2 database
+ * and the gateway in front of it, both in this JVM, seeds a dataset and drives the mixed {@link Workload}
+ * through the gateway with an {@link OpenLoopGenerator}, first to warm up and then to measure.
+ *
+ * <p>Run with {@code mvn -Pbenchmarks -DskipTests clean verify -pl benchmarks/load-test -am
+ * -Dloadtest.args="--rate=300 --duration=2m"}; see {@link LoadTestOptions} for the options.
+ */
+public final class LoadTest {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) {
+        int status = 0;
+        try {
+            run(LoadTestOptions.parse(args));
+        } catch (Exception e) {
+            e.printStackTrace();
+            status = 1;
+        }
+        // The applications' web servers keep the JVM alive.
+        System.exit(status);
+    }
+
+    private static void run(LoadTestOptions options) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        int serverPort = IsolatedApplication.freePort();
+        List<String> serverArgs = new ArrayList<>(List.of(
+                "--server.port=" + serverPort,
+                "--spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.connection-init-sql=SET MODE PostgreSQL",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        serverArgs.addAll(options.serverArgs());
+        IsolatedApplication.start("shareit-server", options.apps().resolve("shareit-server-exec.jar"),
+                options.apps(), serverArgs);
+
+        int gatewayPort = IsolatedApplication.freePort();
+        List<String> gatewayArgs = new ArrayList<>(List.of(
+                "--server.port=" + gatewayPort,
+                "--shareit-server.url=http://localhost:" + serverPort,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN"));
+        gatewayArgs.addAll(options.gatewayArgs());
+        IsolatedApplication.start("shareit-gateway", options.apps().resolve("shareit-gateway-exec.jar"),
+                options.apps(), gatewayArgs);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+
+            System.out.printf("Seeding %d users with %d items each and %d bookings per item%n",
+                    options.users(), options.itemsPerUser(), options.bookingsPerItem());
+            Dataset dataset = new DatasetSeeder(httpClient,
+                    new ShareItApi(URI.create("http://localhost:" + serverPort), objectMapper)).seed(options);
+
+            Workload workload = new Workload(
+                    new ShareItApi(URI.create("http://localhost:" + gatewayPort), objectMapper), dataset);
+            OpenLoopGenerator generator = new OpenLoopGenerator(httpClient, executor, workload,
+                    options.maxInFlight());
+            System.out.printf("Warming up for %s at %d req/s%n", options.warmup(), options.rate());
+            generator.run(options.rate(), options.warmup());
+            generator.drain(DRAIN_TIMEOUT);
+            System.out.printf("Measuring for %s at %d req/s%n", options.duration(), options.rate());
+            OpenLoopGenerator.Result result = generator.run(options.rate(), options.duration());
+            if (!generator.drain(DRAIN_TIMEOUT)) {
+                System.out.println("Some requests were still in flight after " + DRAIN_TIMEOUT);
+            }
+            LoadTestReport.write(options, result, objectMapper, System.out);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ *
+ * @param apps            directory with the executable server and gateway jars
+ * @param output          directory the summary and histograms are written to
+ * @param rate            requests per second started by the generator, regardless of how fast responses arrive
+ * @param warmup          how long the workload runs before measurement starts
+ * @param duration        how long the workload is measured
+ * @param users           seeded users; every user owns items
+ * @param itemsPerUser    seeded items per user
+ * @param bookingsPerItem seeded approved future bookings per item
+ * @param maxInFlight     outstanding requests above which scheduled requests are dropped instead of sent
+ * @param serverArgs      extra arguments for the server application
+ * @param gatewayArgs     extra arguments for the gateway application
+ */
+record LoadTestOptions(
+        Path apps,
+        Path output,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int users,
+        int itemsPerUser,
+        int bookingsPerItem,
+        int maxInFlight,
+        List<String> serverArgs,
+        List<String> gatewayArgs
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestOptions result = new LoadTestOptions(
+                Path.of(options.getOrDefault("apps", "target/apps")),
+                Path.of(options.getOrDefault("output", "target/load-test")),
+                Integer.parseInt(options.getOrDefault("rate", "200")),
+                duration(options.getOrDefault("warmup", "15s")),
+                duration(options.getOrDefault("duration", "60s")),
+                Integer.parseInt(options.getOrDefault("users", "200")),
+                Integer.parseInt(options.getOrDefault("items-per-user", "10")),
+                Integer.parseInt(options.getOrDefault("bookings-per-item", "2")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "5000")),
+                words(options.get("server-args")),
+                words(options.get("gateway-args")));
+        options.keySet().removeAll(List.of("apps", "output", "rate", "warmup", "duration", "users", "items-per-user",
+                "bookings-per-item", "max-in-flight", "server-args", "gateway-args"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        if (result.rate <= 0 || result.users < 2 || result.itemsPerUser <= 0 || result.bookingsPerItem < 0) {
+            throw new IllegalArgumentException("rate and items-per-user must be positive, users at least 2 "
+                    + "and bookings-per-item not negative");
+        }
+        return result;
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase(Locale.ROOT));
+    }
+
+    private static List<String> words(String value) {
+        return value == null || value.isBlank() ? List.of() : Arrays.asList(value.trim().split("\\s+"));
+    }
+}
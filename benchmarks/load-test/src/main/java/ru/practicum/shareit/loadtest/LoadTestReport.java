@@ -0,0 +1,92 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prints a per-operation summary and writes it to {@code summary.json}, along with the full response time
+ * distribution of every operation as an {@code .hgrm} file, in milliseconds, for HdrHistogram's plotter.
+ */
+final class LoadTestReport {
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private LoadTestReport() {
+    }
+
+    static void write(LoadTestOptions options, OpenLoopGenerator.Result result, ObjectMapper objectMapper,
+                      PrintStream out) throws IOException {
+        double seconds = result.duration().toMillis() / MICROS_PER_MILLI;
+        List<OperationSummary> operations = new ArrayList<>();
+        result.stats().forEach((operation, stats) -> operations.add(new OperationSummary(
+                operation.name().toLowerCase(Locale.ROOT),
+                stats.responseTime().getTotalCount(),
+                stats.responseTime().getTotalCount() / seconds,
+                stats.statuses(),
+                stats.failures(),
+                Percentiles.of(stats.responseTime()),
+                Percentiles.of(stats.serviceTime()))));
+        Summary summary = new Summary(options.rate(), seconds, result.dropped(), operations);
+
+        Files.createDirectories(options.output());
+        objectMapper.writer()
+                .with(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(options.output().resolve("summary.json").toFile(), summary);
+        for (Map.Entry<Operation, OperationStats> entry : result.stats().entrySet()) {
+            Path file = options.output().resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                entry.getValue().responseTime().outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+            }
+        }
+        print(summary, out);
+        out.println("Results written to " + options.output().toAbsolutePath());
+    }
+
+    private static void print(Summary summary, PrintStream out) {
+        out.printf(Locale.ROOT, "%nTarget %d req/s for %.0f s, %d requests dropped%n",
+                summary.targetRate(), summary.durationSeconds(), summary.dropped());
+        out.printf(Locale.ROOT, "%-16s %8s %8s %8s %8s | %9s %9s %9s %9s %9s | %9s%n", "operation", "count",
+                "req/s", "non-2xx", "failed", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99");
+        for (OperationSummary operation : summary.operations()) {
+            long non2xx = operation.statuses().entrySet().stream()
+                    .filter(status -> status.getKey() / 100 != 2)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            Percentiles response = operation.responseTimeMillis();
+            out.printf(Locale.ROOT, "%-16s %8d %8.1f %8d %8d | %9.2f %9.2f %9.2f %9.2f %9.2f | %9.2f%n",
+                    operation.operation(), operation.count(), operation.throughput(), non2xx, operation.failures(),
+                    response.p50(), response.p90(), response.p99(), response.p999(), response.max(),
+                    operation.serviceTimeMillis().p99());
+        }
+    }
+
+    record Summary(int targetRate, double durationSeconds, long dropped, List<OperationSummary> operations) {
+    }
+
+    record OperationSummary(String operation, long count, double throughput, Map<Integer, Long> statuses,
+                            long failures, Percentiles responseTimeMillis, Percentiles serviceTimeMillis) {
+    }
+
+    record Percentiles(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Percentiles of(Histogram histogram) {
+            return new Percentiles(
+                    histogram.getMean() / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI);
+        }
+    }
+}
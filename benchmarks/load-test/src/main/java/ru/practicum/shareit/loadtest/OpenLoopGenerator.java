@@ -0,0 +1,93 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts requests at a fixed rate on a schedule that does not depend on responses, each on its own virtual
+ * thread. Latency is measured from the scheduled start, so a slow response does not hide the requests that
+ * should have been sent meanwhile (coordinated omission).
+ */
+final class OpenLoopGenerator {
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final Workload workload;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoopGenerator(HttpClient httpClient, ExecutorService executor, Workload workload, int maxInFlight) {
+        this.httpClient = httpClient;
+        this.executor = executor;
+        this.workload = workload;
+        this.maxInFlight = maxInFlight;
+    }
+
+    Result run(int rate, Duration duration) {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        LongAdder dropped = new LongAdder();
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long scheduled = start; scheduled < end; scheduled += interval) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                dropped.increment();
+                continue;
+            }
+            Workload.Call call = workload.next();
+            long scheduledNanos = scheduled;
+            inFlight.incrementAndGet();
+            executor.execute(() -> send(call, scheduledNanos, stats.get(call.operation())));
+        }
+        return new Result(stats, dropped.sum(), duration);
+    }
+
+    /**
+     * Waits for the requests still in flight to complete.
+     */
+    boolean drain(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private void send(Workload.Call call, long scheduledNanos, OperationStats stats) {
+        long sentNanos = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(call.request(), HttpResponse.BodyHandlers.ofByteArray());
+            stats.record(response.statusCode(), scheduledNanos, sentNanos, System.nanoTime());
+            if (call.onResponse() != null) {
+                call.onResponse().accept(response);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            stats.recordFailure(scheduledNanos, sentNanos, System.nanoTime());
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    record Result(Map<Operation, OperationStats> stats, long dropped, Duration duration) {
+    }
+}
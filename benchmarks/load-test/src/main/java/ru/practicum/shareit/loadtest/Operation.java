@@ -0,0 +1,29 @@
+package ru.practicum.shareit.loadtest;
+
+/**
+ * The operations of the mixed workload and their share of it, in percent.
+ */
+enum Operation {
+    SEARCH(35),
+    ITEM_DETAIL(30),
+    OWNER_BOOKINGS(15),
+    BOOKING_CREATE(12),
+    BOOKING_APPROVE(8);
+
+    private final int weight;
+
+    Operation(int weight) {
+        this.weight = weight;
+    }
+
+    static Operation pick(int percent) {
+        int cumulative = 0;
+        for (Operation operation : values()) {
+            cumulative += operation.weight;
+            if (percent < cumulative) {
+                return operation;
+            }
+        }
+        return SEARCH;
+    }
+}
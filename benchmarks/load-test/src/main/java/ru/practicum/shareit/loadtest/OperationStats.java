@@ -0,0 +1,58 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one operation, in microseconds. Response time runs from when the request was
+ * scheduled to be sent, so time spent waiting behind a stalled system is counted; service time runs from when
+ * it was actually sent.
+ */
+final class OperationStats {
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Histogram responseTime = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(MAX_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    void record(int status, long scheduledNanos, long sentNanos, long completedNanos) {
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        responseTime.recordValue(micros(completedNanos - scheduledNanos));
+        serviceTime.recordValue(micros(completedNanos - sentNanos));
+    }
+
+    void recordFailure(long scheduledNanos, long sentNanos, long completedNanos) {
+        failures.increment();
+        responseTime.recordValue(micros(completedNanos - scheduledNanos));
+        serviceTime.recordValue(micros(completedNanos - sentNanos));
+    }
+
+    Histogram responseTime() {
+        return responseTime;
+    }
+
+    Histogram serviceTime() {
+        return serviceTime;
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> result = new TreeMap<>();
+        statuses.forEach((status, count) -> result.put(status, count.sum()));
+        return result;
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(MAX_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
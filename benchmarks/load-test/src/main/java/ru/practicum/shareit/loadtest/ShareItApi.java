@@ -0,0 +1,65 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * Builds ShareIt API requests against one base URL, either the gateway's or the server's.
+ */
+final class ShareItApi {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+
+    ShareItApi(URI baseUri, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+    }
+
+    HttpRequest get(String path, Long userId) {
+        return request("GET", path, userId, null);
+    }
+
+    HttpRequest post(String path, Long userId, Object body) {
+        return request("POST", path, userId, body);
+    }
+
+    HttpRequest patch(String path, Long userId) {
+        return request("PATCH", path, userId, null);
+    }
+
+    long id(byte[] body) {
+        try {
+            return objectMapper.readTree(body).path("id").asLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest request(String method, String path, Long userId, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json");
+        if (userId != null) {
+            builder.header(USER_HEADER, String.valueOf(userId));
+        }
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Produces the next request of the mixed workload. Item popularity is skewed towards the first seeded items,
+ * and bookings created by the workload are later approved by their item's owner.
+ */
+final class Workload {
+    private static final List<String> OWNER_STATES = List.of("ALL", "WAITING", "FUTURE", "CURRENT");
+
+    private final ShareItApi gateway;
+    private final Dataset dataset;
+    private final Queue<PendingBooking> pending = new ConcurrentLinkedQueue<>();
+
+    Workload(ShareItApi gateway, Dataset dataset) {
+        this.gateway = gateway;
+        this.dataset = dataset;
+    }
+
+    Call next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Operation operation = Operation.pick(random.nextInt(100));
+        return switch (operation) {
+            case SEARCH -> search(random);
+            case ITEM_DETAIL -> itemDetail(random);
+            case OWNER_BOOKINGS -> ownerBookings(random);
+            case BOOKING_APPROVE -> bookingApprove(random);
+            case BOOKING_CREATE -> bookingCreate(random);
+        };
+    }
+
+    private Call search(ThreadLocalRandom random) {
+        List<String> words = random.nextBoolean() ? Dataset.NAMES : Dataset.ADJECTIVES;
+        String text = words.get(random.nextInt(words.size()));
+        return new Call(Operation.SEARCH, gateway.get("/items/search?text=" + text + "&size=20", null), null);
+    }
+
+    private Call itemDetail(ThreadLocalRandom random) {
+        Dataset.Item item = hotItem(random);
+        return new Call(Operation.ITEM_DETAIL, gateway.get("/items/" + item.id(), randomUser(random)), null);
+    }
+
+    private Call ownerBookings(ThreadLocalRandom random) {
+        long ownerId = hotItem(random).ownerId();
+        String state = OWNER_STATES.get(random.nextInt(OWNER_STATES.size()));
+        return new Call(Operation.OWNER_BOOKINGS,
+                gateway.get("/bookings/owner?state=" + state + "&size=20", ownerId), null);
+    }
+
+    private Call bookingCreate(ThreadLocalRandom random) {
+        Dataset.Item item = hotItem(random);
+        long bookerId = randomUser(random);
+        if (bookerId == item.ownerId()) {
+            bookerId = dataset.users().get((dataset.users().indexOf(bookerId) + 1) % dataset.users().size());
+        }
+        Dataset.Slot slot = dataset.nextSlot();
+        HttpRequest request = gateway.post("/bookings", bookerId,
+                Map.of("itemId", item.id(), "start", slot.start(), "end", slot.end()));
+        return new Call(Operation.BOOKING_CREATE, request, response -> {
+            if (response.statusCode() / 100 == 2) {
+                pending.add(new PendingBooking(gateway.id(response.body()), item.ownerId()));
+            }
+        });
+    }
+
+    private Call bookingApprove(ThreadLocalRandom random) {
+        PendingBooking booking = pending.poll();
+        if (booking == null) {
+            return bookingCreate(random);
+        }
+        return new Call(Operation.BOOKING_APPROVE,
+                gateway.patch("/bookings/" + booking.id() + "?approved=" + (random.nextInt(10) != 0),
+                        booking.ownerId()), null);
+    }
+
+    private Dataset.Item hotItem(ThreadLocalRandom random) {
+        // Squaring a uniform number puts half of the picks on the first quarter of the items.
+        double skewed = random.nextDouble();
+        return dataset.items().get((int) (skewed * skewed * dataset.items().size()));
+    }
+
+    private long randomUser(ThreadLocalRandom random) {
+        return dataset.users().get(random.nextInt(dataset.users().size()));
+    }
+
+    record Call(Operation operation, HttpRequest request, Consumer<HttpResponse<byte[]>> onResponse) {
+    }
+
+    private record PendingBooking(long id, long ownerId) {
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ItemService#searchItems} served by the SQL search query against the in-process n-gram index,
+ * on an embedded H2 catalog.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+    private static final int USERS = 1_000;
+
+    @Param({"100000", "1000000"})
+    private int items;
+
+    @Param({"sql", "ngram"})
+    private String engine;
+
+    @Param({"drill", "ill 4242", "xyz"})
+    private String text;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.connection-init-sql=SET MODE PostgreSQL",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.transaction=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                        "--shareit.search.ngram-index.enabled=" + "ngram".equals(engine));
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(ItemSearchIndex.class).bootstrap();
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemSearchPageDto searchFirstPage() {
+        return itemService.searchItems(text, 0, 20);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("INSERT INTO users (users_id, users_name, users_email) "
+                + "SELECT X, 'User ' || X, 'user' || X || '@benchmark.test' FROM SYSTEM_RANGE(1, " + USERS + ")");
+        jdbcTemplate.execute("INSERT INTO items (items_id, items_name, items_description, items_is_available, "
+                + "items_owner_id) "
+                + "SELECT X, ARRAY_GET(ARRAY['Drill', 'Hammer', 'Saw', 'Ladder', 'Tent', 'Bike', 'Kayak', 'Projector', "
+                + "'Camera', 'Mixer'], MOD(X, 10) + 1) || ' ' || X, "
+                + "'Good condition, ' || ARRAY_GET(ARRAY['cordless', 'heavy', 'compact', 'folding', 'electric', "
+                + "'manual', 'vintage'], MOD(X, 7) + 1) || ', set ' || MOD(X * 31, 1000), "
+                + "MOD(X, 5) <> 0, MOD(X, " + USERS + ") + 1 FROM SYSTEM_RANGE(1, " + items + ")");
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
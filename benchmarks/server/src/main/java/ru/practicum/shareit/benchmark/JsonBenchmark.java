@@ -0,0 +1,105 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserShortDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialization of the response lists returned by {@code GET /items} and {@code GET /bookings}, with an object
+ * mapper configured the way Spring Boot configures the server's one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+    private static final ObjectMapper OBJECT_MAPPER = new Jackson2ObjectMapperBuilder()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @State(Scope.Benchmark)
+    public static class Items {
+        @Param({"1", "20", "100"})
+        private int size;
+
+        @Param({"0", "5"})
+        private int commentsPerItem;
+
+        private ObjectWriter writer;
+        private List<ItemResponseDto> items;
+
+        @Setup
+        public void setUp() {
+            writer = listWriter(ItemResponseDto.class);
+            items = LongStream.rangeClosed(1, size)
+                    .mapToObj(id -> new ItemResponseDto(id, "Drill " + id, "Good condition, cordless, set " + id, true,
+                            new BookingShortDto(id * 2, 2L, NOW.minusDays(2), NOW.minusDays(1)),
+                            new BookingShortDto(id * 2 + 1, 3L, NOW.plusDays(1), NOW.plusDays(2)),
+                            LongStream.rangeClosed(1, commentsPerItem)
+                                    .mapToObj(c -> new CommentDto(id * 100 + c, "Works great, thanks!", "Booker",
+                                            NOW.minusHours(c)))
+                                    .toList()))
+                    .toList();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Bookings {
+        @Param({"1", "20", "100"})
+        private int size;
+
+        private ObjectWriter writer;
+        private List<BookingResponseDto> bookings;
+
+        @Setup
+        public void setUp() {
+            writer = listWriter(BookingResponseDto.class);
+            bookings = LongStream.rangeClosed(1, size)
+                    .mapToObj(id -> new BookingResponseDto(id, NOW.plusDays(id), NOW.plusDays(id + 1),
+                            Booking.BookingStatus.APPROVED, new UserShortDto(2L),
+                            new ItemShortDto(id, "Drill " + id, 1L)))
+                    .toList();
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeItems(Items state) throws JsonProcessingException {
+        return state.writer.writeValueAsBytes(state.items);
+    }
+
+    @Benchmark
+    public byte[] serializeBookings(Bookings state) throws JsonProcessingException {
+        return state.writer.writeValueAsBytes(state.bookings);
+    }
+
+    private static ObjectWriter listWriter(Class<?> elementType) {
+        return OBJECT_MAPPER.writerFor(OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, elementType));
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.ItemBookingSlot;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentRow;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO conversions done for every booking, item and comment the server returns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private Booking booking;
+    private ItemBookingSlot slot;
+    private Item item;
+    private BookingShortDto lastBooking;
+    private BookingShortDto nextBooking;
+    private List<CommentDto> comments;
+    private Comment comment;
+    private ItemCommentRow commentRow;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 15, 12, 0);
+        User owner = new User(1L, "Owner", "owner@benchmark.test");
+        User booker = new User(2L, "Booker", "booker@benchmark.test");
+        item = new Item(10L, "Drill 10", "Good condition, cordless, set 310", true, owner, null);
+        booking = new Booking(100L, now.minusDays(2), now.minusDays(1), item, booker, Booking.BookingStatus.APPROVED);
+        slot = new ItemBookingSlot(item.getId(), true, 100L, booker.getId(), now.minusDays(2), now.minusDays(1));
+        lastBooking = BookingMapper.toBookingShortDto(booking);
+        nextBooking = new BookingShortDto(101L, booker.getId(), now.plusDays(1), now.plusDays(2));
+        comment = new Comment(1000L, "Works great, thanks!", item, booker, now);
+        commentRow = new ItemCommentRow(item, 1000L, "Works great, thanks!", booker.getName(), now);
+        comments = List.of(CommentMapper.toCommentDto(comment), CommentMapper.toCommentDto(commentRow));
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingToResponseDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingShortDto bookingToShortDto() {
+        return BookingMapper.toBookingShortDto(booking);
+    }
+
+    @Benchmark
+    public BookingShortDto bookingSlotToShortDto() {
+        return BookingMapper.toBookingShortDto(slot);
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemResponseDto itemToResponseDto() {
+        return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, comments);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return CommentMapper.toCommentDto(comment);
+    }
+
+    @Benchmark
+    public CommentDto commentRowToDto() {
+        return CommentMapper.toCommentDto(commentRow);
+    }
+}
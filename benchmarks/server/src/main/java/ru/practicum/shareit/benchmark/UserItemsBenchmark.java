@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ItemService#getUserItems} for an owner whose items each have past and future bookings and comments,
+ * on an embedded H2 database: the owner's items, their last and next bookings and their comments are loaded and
+ * grouped per item.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class UserItemsBenchmark {
+    private static final long OWNER_ID = 1;
+    private static final int BOOKERS = 100;
+    private static final int BOOKINGS_PER_ITEM = 4;
+    private static final int COMMENTS_PER_ITEM = 3;
+
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:user-items-benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.connection-init-sql=SET MODE PostgreSQL",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.transaction=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        seed(context.getBean(JdbcTemplate.class));
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemResponseDto> getUserItems() {
+        return itemService.getUserItems(OWNER_ID);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("INSERT INTO users (users_id, users_name, users_email) "
+                + "SELECT X, 'User ' || X, 'user' || X || '@benchmark.test' "
+                + "FROM SYSTEM_RANGE(1, " + (BOOKERS + 1) + ")");
+        jdbcTemplate.execute("INSERT INTO items (items_id, items_name, items_description, items_is_available, "
+                + "items_owner_id) "
+                + "SELECT X, 'Drill ' || X, 'Good condition, set ' || X, TRUE, " + OWNER_ID
+                + " FROM SYSTEM_RANGE(1, " + items + ")");
+        // Half of each item's bookings are in the past and half in the future, one day apart.
+        jdbcTemplate.execute("INSERT INTO bookings (bookings_start_date, bookings_end_date, bookings_item_id, "
+                + "bookings_booker_id, bookings_status) "
+                + "SELECT DATEADD(DAY, B.X * 2 - " + BOOKINGS_PER_ITEM + " - 1, LOCALTIMESTAMP), "
+                + "DATEADD(DAY, B.X * 2 - " + BOOKINGS_PER_ITEM + ", LOCALTIMESTAMP), I.X, "
+                + "MOD(I.X + B.X, " + BOOKERS + ") + 2, 'APPROVED' "
+                + "FROM SYSTEM_RANGE(1, " + items + ") I, SYSTEM_RANGE(1, " + BOOKINGS_PER_ITEM + ") B");
+        jdbcTemplate.execute("INSERT INTO comments (comments_text, comments_item_id, comments_author_id, "
+                + "comments_created) "
+                + "SELECT 'Works great, comment ' || C.X, I.X, MOD(I.X + C.X, " + BOOKERS + ") + 2, "
+                + "DATEADD(HOUR, -C.X, LOCALTIMESTAMP) "
+                + "FROM SYSTEM_RANGE(1, " + items + ") I, SYSTEM_RANGE(1, " + COMMENTS_PER_ITEM + ") C");
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.dataset;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Streams rows into PostgreSQL with a single {@code COPY ... FROM STDIN} in CSV format.
+ */
+final class CopyRowWriter implements RowWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Connection connection;
+    private final Writer writer;
+
+    CopyRowWriter(Connection connection, String table, List<String> columns) throws SQLException {
+        this.connection = connection;
+        PGCopyOutputStream out = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+                "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)", BUFFER_SIZE);
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void write(Object... values) throws SQLException {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeValue(values[i]);
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new SQLException("COPY failed", e);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new SQLException("COPY failed", e);
+        }
+        connection.commit();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String text) {
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else if (value instanceof LocalDateTime time) {
+            writer.write(time.toString());
+        } else {
+            writer.write(value.toString());
+        }
+    }
+}
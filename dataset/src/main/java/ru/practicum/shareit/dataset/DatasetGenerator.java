@@ -0,0 +1,261 @@
+package ru.practicum.shareit.dataset;
+
+import org.postgresql.PGConnection;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the {@code users}, {@code requests}, {@code items}, {@code bookings} and {@code comments} tables of a
+ * migrated database with synthetic data shaped by a {@link DatasetSpec}. Rows are streamed with {@code COPY} on
+ * PostgreSQL and with batched inserts elsewhere. They are appended after the rows already there, and the id
+ * sequences are moved past them.
+ *
+ * <p>Every item has a calendar of non-overlapping bookings around the current time: those that ended are mostly
+ * approved, some rejected or canceled; upcoming ones are approved or still waiting.
+ */
+public final class DatasetGenerator {
+    private static final List<String> NAMES = List.of("Drill", "Hammer", "Saw", "Ladder", "Tent", "Bike", "Kayak",
+            "Projector", "Camera", "Mixer", "Sander", "Grill", "Speaker", "Scooter", "Telescope", "Canoe");
+    private static final List<String> ADJECTIVES = List.of("cordless", "heavy", "compact", "folding", "electric",
+            "manual", "vintage", "waterproof", "portable", "professional");
+    private static final List<String> COMMENTS = List.of("Works great, thanks!", "A bit worn but does the job.",
+            "Exactly as described.", "Owner was very helpful.", "Would rent again.", "Battery did not last long.");
+    // An odd constant near 2^32 / golden ratio spreads consecutive ranks far apart.
+    private static final long SCATTER = 2_654_435_769L;
+    private static final long HOUR = 3_600;
+    private static final long ID_BLOCK = 50;
+
+    private final Connection connection;
+    private final DatasetSpec spec;
+    private final SplittableRandom random;
+    private final long now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toEpochSecond(ZoneOffset.UTC);
+    private final boolean postgres;
+
+    private DatasetGenerator(Connection connection, DatasetSpec spec) throws SQLException {
+        this.connection = connection;
+        this.spec = spec;
+        this.random = new SplittableRandom(spec.seed());
+        this.postgres = connection.isWrapperFor(PGConnection.class);
+    }
+
+    public static DatasetSummary generate(DataSource dataSource, DatasetSpec spec) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return generate(connection, spec);
+        }
+    }
+
+    public static DatasetSummary generate(Connection connection, DatasetSpec spec) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            return new DatasetGenerator(connection, spec).run();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private DatasetSummary run() throws SQLException {
+        long started = System.nanoTime();
+        long firstUser = firstId("users", "users_id");
+        long firstRequest = firstId("requests", "requests_id");
+        long firstItem = firstId("items", "items_id");
+        long firstBooking = firstId("bookings", "bookings_id");
+        long firstComment = firstId("comments", "comments_id");
+
+        users(firstUser);
+        requests(firstRequest, firstUser);
+        int[] itemOwners = items(firstItem, firstUser, firstRequest);
+        bookings(firstBooking, firstItem, firstUser, itemOwners);
+        comments(firstComment, firstItem, firstUser);
+
+        advanceSequence("users", "users_id");
+        advanceSequence("requests", "requests_id");
+        advanceSequence("items", "items_id");
+        advanceSequence("bookings", "bookings_id");
+        advanceSequence("comments", "comments_id");
+        execute("ANALYZE");
+        connection.commit();
+
+        return new DatasetSummary(firstUser, spec.users(), firstItem, spec.items(), firstRequest, spec.requests(),
+                firstBooking, spec.bookings(), firstComment, spec.comments(),
+                Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    private void users(long firstId) throws SQLException {
+        try (RowWriter writer = writer("users", List.of("users_id", "users_name", "users_email"))) {
+            for (int i = 0; i < spec.users(); i++) {
+                long id = firstId + i;
+                writer.write(id, "User " + id, "user" + id + "@dataset.test");
+            }
+        }
+    }
+
+    private void requests(long firstId, long firstUser) throws SQLException {
+        try (RowWriter writer = writer("requests", List.of("requests_id", "requests_description",
+                "requests_requestor_id", "requests_created"))) {
+            for (int i = 0; i < spec.requests(); i++) {
+                writer.write(firstId + i, "Looking for a " + pick(ADJECTIVES) + " " + pick(NAMES).toLowerCase(),
+                        firstUser + random.nextInt(spec.users()), time(now - random.nextLong(365 * 24 * HOUR)));
+            }
+        }
+    }
+
+    /**
+     * @return the owner of every item, as an index into the generated users
+     */
+    private int[] items(long firstId, long firstUser, long firstRequest) throws SQLException {
+        int[] owners = new int[spec.items()];
+        int[] itemsPerOwner = PowerLaw.allocate(spec.items(), spec.users(), spec.skew(), spec.maxItemsPerOwner());
+        try (RowWriter writer = writer("items", List.of("items_id", "items_name", "items_description",
+                "items_is_available", "items_owner_id", "items_request_id"))) {
+            int item = 0;
+            for (int owner = 0; owner < itemsPerOwner.length; owner++) {
+                for (int i = 0; i < itemsPerOwner[owner]; i++, item++) {
+                    owners[item] = owner;
+                    long id = firstId + item;
+                    Long request = spec.requests() > 0 && random.nextDouble() < spec.requestLinkedItems()
+                            ? firstRequest + random.nextInt(spec.requests())
+                            : null;
+                    writer.write(id, pick(NAMES) + " " + id,
+                            "Good condition, " + pick(ADJECTIVES) + ", " + pick(ADJECTIVES) + ", set " + id % 1000,
+                            random.nextInt(10) != 0, firstUser + owner, request);
+                }
+            }
+        }
+        return owners;
+    }
+
+    private void bookings(long firstId, long firstItem, long firstUser, int[] itemOwners) throws SQLException {
+        int[] bookingsPerItem = PowerLaw.allocate(spec.bookings(), spec.items(), spec.skew(),
+                spec.maxBookingsPerItem());
+        long coprime = PowerLaw.coprime(SCATTER, Math.max(1, spec.items()));
+        try (RowWriter writer = writer("bookings", List.of("bookings_id", "bookings_start_date",
+                "bookings_end_date", "bookings_item_id", "bookings_booker_id", "bookings_status"))) {
+            long id = firstId;
+            for (int rank = 0; rank < bookingsPerItem.length; rank++) {
+                int item = PowerLaw.scatter(rank, spec.items(), coprime);
+                int count = bookingsPerItem[rank];
+                // Slots average 60 hours including the gap before them; half of the calendar lies in the past.
+                long cursor = now - count * 30 * HOUR;
+                for (int i = 0; i < count; i++) {
+                    long start = cursor + random.nextLong(48 * HOUR);
+                    long end = start + HOUR + random.nextLong(72 * HOUR);
+                    cursor = end;
+                    writer.write(id++, time(start), time(end), firstItem + item,
+                            firstUser + otherUser(itemOwners[item]), status(start, end));
+                }
+            }
+        }
+    }
+
+    private void comments(long firstId, long firstItem, long firstUser) throws SQLException {
+        int[] commentsPerItem = PowerLaw.allocate(spec.comments(), spec.items(), spec.skew(),
+                spec.maxCommentsPerItem());
+        long coprime = PowerLaw.coprime(SCATTER, Math.max(1, spec.items()));
+        try (RowWriter writer = writer("comments", List.of("comments_id", "comments_text", "comments_item_id",
+                "comments_author_id", "comments_created"))) {
+            long id = firstId;
+            for (int rank = 0; rank < commentsPerItem.length; rank++) {
+                int item = PowerLaw.scatter(rank, spec.items(), coprime);
+                for (int i = 0; i < commentsPerItem[rank]; i++) {
+                    writer.write(id++, pick(COMMENTS), firstItem + item, firstUser + random.nextInt(spec.users()),
+                            time(now - random.nextLong(2 * 365 * 24 * HOUR)));
+                }
+            }
+        }
+    }
+
+    private String status(long start, long end) {
+        int roll = random.nextInt(100);
+        if (end < now) {
+            return roll < 85 ? "APPROVED" : roll < 95 ? "REJECTED" : "CANCELED";
+        }
+        if (start > now) {
+            return roll < 60 ? "APPROVED" : roll < 95 ? "WAITING" : "CANCELED";
+        }
+        return "APPROVED";
+    }
+
+    private int otherUser(int user) {
+        int other = random.nextInt(spec.users() - 1);
+        return other >= user ? other + 1 : other;
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static LocalDateTime time(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private RowWriter writer(String table, List<String> columns) throws SQLException {
+        return postgres
+                ? new CopyRowWriter(connection, table, columns)
+                : new BatchInsertRowWriter(connection, table, columns, spec.batchSize());
+    }
+
+    /**
+     * The first id after both the rows in the table and the block of ids the application may be holding, which
+     * ends at or before the sequence's current value.
+     */
+    private long firstId(String table, String column) throws SQLException {
+        long next = nextId(table, column);
+        try (PreparedStatement statement = connection.prepareStatement("SELECT nextval(?)")) {
+            statement.setString(1, table + "_seq");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return Math.max(next, resultSet.getLong(1) + 1);
+            }
+        }
+    }
+
+    private long nextId(String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1) + 1;
+        }
+    }
+
+    /**
+     * Moves the table's id sequence past the generated ids, which were given explicitly. The application takes
+     * ids from the sequence in blocks of {@value #ID_BLOCK} that end at the value it returns.
+     */
+    private void advanceSequence(String table, String column) throws SQLException {
+        long next = nextId(table, column) - 1 + ID_BLOCK;
+        if (postgres) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT setval(?, ?, false)")) {
+                statement.setString(1, table + "_seq");
+                statement.setLong(2, next);
+                statement.execute();
+            }
+        } else {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "ALTER SEQUENCE " + table + "_seq RESTART WITH ?")) {
+                statement.setLong(1, next);
+                statement.execute();
+            }
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.dataset;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generates a dataset into a migrated ShareIt database. Options are given as {@code --name=value}:
+ * {@code url} (required), {@code username}, {@code password}, {@code users}, {@code items}, {@code requests},
+ * {@code bookings}, {@code comments}, {@code skew}, {@code max-items-per-owner}, {@code max-bookings-per-item},
+ * {@code max-comments-per-item}, {@code request-linked-items}, {@code seed} and {@code batch-size}.
+ */
+public final class DatasetGeneratorCli {
+
+    private DatasetGeneratorCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String url = options.remove("url");
+        if (url == null) {
+            throw new IllegalArgumentException("--url is required");
+        }
+
+        DatasetSpec defaults = DatasetSpec.of(1_000, 10_000, 1_000, 100_000, 20_000);
+        DatasetSpec spec = new DatasetSpec(
+                Integer.parseInt(options.getOrDefault("users", String.valueOf(defaults.users()))),
+                Integer.parseInt(options.getOrDefault("items", String.valueOf(defaults.items()))),
+                Integer.parseInt(options.getOrDefault("requests", String.valueOf(defaults.requests()))),
+                Long.parseLong(options.getOrDefault("bookings", String.valueOf(defaults.bookings()))),
+                Long.parseLong(options.getOrDefault("comments", String.valueOf(defaults.comments()))),
+                Double.parseDouble(options.getOrDefault("skew", String.valueOf(defaults.skew()))),
+                Integer.parseInt(options.getOrDefault("max-items-per-owner",
+                        String.valueOf(defaults.maxItemsPerOwner()))),
+                Integer.parseInt(options.getOrDefault("max-bookings-per-item",
+                        String.valueOf(defaults.maxBookingsPerItem()))),
+                Integer.parseInt(options.getOrDefault("max-comments-per-item",
+                        String.valueOf(defaults.maxCommentsPerItem()))),
+                Double.parseDouble(options.getOrDefault("request-linked-items",
+                        String.valueOf(defaults.requestLinkedItems()))),
+                Long.parseLong(options.getOrDefault("seed", String.valueOf(defaults.seed()))),
+                Integer.parseInt(options.getOrDefault("batch-size", String.valueOf(defaults.batchSize()))));
+
+        try (Connection connection = DriverManager.getConnection(url, options.get("username"),
+                options.get("password"))) {
+            DatasetSummary summary = DatasetGenerator.generate(connection, spec);
+            long rows = summary.users() + summary.items() + summary.requests() + summary.bookings()
+                    + summary.comments();
+            System.out.printf("Generated %d users, %d items, %d requests, %d bookings and %d comments in %s "
+                            + "(%.0f rows/s)%n", summary.users(), summary.items(), summary.requests(),
+                    summary.bookings(), summary.comments(), summary.elapsed(),
+                    rows / (summary.elapsed().toMillis() / 1000.0));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.dataset;
+
+import lombok.With;
+
+/**
+ * Size and shape of a generated dataset.
+ *
+ * <p>Items are spread over owners, and bookings and comments over items, by a power law with the given
+ * {@code skew}: the first owner gets the most items, and a few hot items get dense booking calendars and long
+ * comment threads, up to the per-owner and per-item caps. A skew of 0 spreads everything evenly.
+ *
+ * @param requestLinkedItems share of items created in response to a request
+ * @param seed               seed of the random generator; the same spec and seed give the same data
+ * @param batchSize          rows per JDBC batch when the database does not support {@code COPY}
+ */
+@With
+public record DatasetSpec(
+        int users,
+        int items,
+        int requests,
+        long bookings,
+        long comments,
+        double skew,
+        int maxItemsPerOwner,
+        int maxBookingsPerItem,
+        int maxCommentsPerItem,
+        double requestLinkedItems,
+        long seed,
+        int batchSize
+) {
+
+    public DatasetSpec {
+        if (users < 2 || items < 0 || requests < 0 || bookings < 0 || comments < 0) {
+            throw new IllegalArgumentException("At least two users are needed and counts cannot be negative");
+        }
+        if (bookings > 0 && items == 0 || comments > 0 && items == 0) {
+            throw new IllegalArgumentException("Bookings and comments need items");
+        }
+        if ((long) maxItemsPerOwner * users < items
+                || (long) maxBookingsPerItem * items < bookings
+                || (long) maxCommentsPerItem * items < comments) {
+            throw new IllegalArgumentException("The caps are too low for the requested counts");
+        }
+        if (skew < 0 || requestLinkedItems < 0 || requestLinkedItems > 1 || batchSize <= 0) {
+            throw new IllegalArgumentException("Invalid skew, request-linked share or batch size");
+        }
+    }
+
+    public static DatasetSpec of(int users, int items, int requests, long bookings, long comments) {
+        return new DatasetSpec(users, items, requests, bookings, comments, 1.0, 10_000, 5_000, 2_000, 0.1, 42,
+                5_000);
+    }
+}
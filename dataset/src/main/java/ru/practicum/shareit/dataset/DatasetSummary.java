@@ -0,0 +1,20 @@
+package ru.practicum.shareit.dataset;
+
+import java.time.Duration;
+
+/**
+ * What was generated. Generated rows of each table have consecutive ids starting at the given first id.
+ */
+public record DatasetSummary(
+        long firstUserId,
+        int users,
+        long firstItemId,
+        int items,
+        long firstRequestId,
+        int requests,
+        long firstBookingId,
+        long bookings,
+        long firstCommentId,
+        long comments,
+        Duration elapsed
+) {}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.dataset;
+
+/**
+ * Splits a total over buckets in proportion to {@code 1 / rank^exponent}, with no bucket above a cap.
+ */
+final class PowerLaw {
+    private static final int SEARCH_ITERATIONS = 100;
+
+    private PowerLaw() {
+    }
+
+    /**
+     * @return the share of each bucket, heaviest first, adding up to exactly {@code total}
+     */
+    static int[] allocate(long total, int buckets, double exponent, int cap) {
+        int[] counts = new int[buckets];
+        if (total == 0) {
+            return counts;
+        }
+        if ((long) buckets * cap < total) {
+            throw new IllegalArgumentException(total + " does not fit into " + buckets + " buckets of " + cap);
+        }
+
+        double[] weights = new double[buckets];
+        for (int i = 0; i < buckets; i++) {
+            weights[i] = Math.pow(i + 1, -exponent);
+        }
+        // Find the scale at which the capped shares add up to the total.
+        double low = 0;
+        double high = total / weights[buckets - 1];
+        for (int iteration = 0; iteration < SEARCH_ITERATIONS; iteration++) {
+            double scale = (low + high) / 2;
+            if (cappedSum(weights, scale, cap) < total) {
+                low = scale;
+            } else {
+                high = scale;
+            }
+        }
+
+        long allocated = 0;
+        for (int i = 0; i < buckets; i++) {
+            counts[i] = (int) Math.min(cap, Math.floor(low * weights[i]));
+            allocated += counts[i];
+        }
+        // Rounding down leaves less than one per bucket; hand it out from the heaviest bucket on.
+        for (int i = 0; allocated < total; i = (i + 1) % buckets) {
+            if (counts[i] < cap) {
+                counts[i]++;
+                allocated++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Maps rank {@code rank} to a bucket index, so that heavy ranks are scattered over {@code size} buckets
+     * instead of all being the first ones. Multiplying by a number coprime to {@code size} is a permutation.
+     */
+    static int scatter(int rank, int size, long coprime) {
+        return (int) (rank * coprime % size);
+    }
+
+    /**
+     * @return the smallest number not below {@code candidate} that is coprime to {@code size}
+     */
+    static long coprime(long candidate, int size) {
+        long result = candidate;
+        while (gcd(result, size) != 1) {
+            result++;
+        }
+        return result;
+    }
+
+    private static double cappedSum(double[] weights, double scale, int cap) {
+        double sum = 0;
+        for (double weight : weights) {
+            sum += Math.min(cap, Math.floor(scale * weight));
+        }
+        return sum;
+    }
+
+    private static long gcd(long a, long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.dataset;
+
+import java.sql.SQLException;
+
+/**
+ * Streams rows into one table.
+ */
+interface RowWriter extends AutoCloseable {
+
+    void write(Object... values) throws SQLException;
+
+    /**
+     * Sends the rows still buffered.
+     */
+    @Override
+    void close() throws SQLException;
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.batch;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/batch")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchController {
+    private final BatchDispatcher batchDispatcher;
+    private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+
+    @PostMapping
+    public ResponseEntity<List<BatchResultDto>> execute(
+            @RequestHeader(value = REQUEST_HEADER, required = false) Long userId,
+            @Valid @RequestBody BatchRequestDto batchRequestDto) {
+        log.info("Executing batch of {} operations, userId={}", batchRequestDto.operations().size(), userId);
+        return ResponseEntity.ok(batchDispatcher.execute(batchRequestDto.operations(), userId));
+    }
+}
@@ -0,0 +1,353 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriTemplate;
+import org.springframework.web.util.UriUtils;
+import ru.practicum.shareit.batch.dto.BatchOperationDto;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.dto.BookingDecisionRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.deadline.RequestDeadline;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+import ru.practicum.shareit.exception.ServerOverloadedException;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemPatchDto;
+import ru.practicum.shareit.limit.UserRateLimiter;
+import ru.practicum.shareit.request.ItemRequestController;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserPatchDto;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs batch operations in this process by calling the gateway's own controllers, so that every operation gets the
+ * same validation, caching and server client as a standalone call without taking another servlet thread.
+ * Operations run in parallel on a bounded pool shared by all batches; once its queue is full the request thread
+ * runs operations itself. Every operation is charged to the user's rate limit, as a standalone call would be.
+ */
+@Slf4j
+@Service
+public class BatchDispatcher implements DisposableBean {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserRateLimiter userRateLimiter;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+    private final List<Route> routes;
+
+    public BatchDispatcher(ObjectMapper objectMapper,
+                           Validator validator,
+                           UserRateLimiter userRateLimiter,
+                           UserController users,
+                           ItemController items,
+                           BookingController bookings,
+                           ItemRequestController requests,
+                           @Value("${shareit-gateway.batch.timeout:30s}") final Duration timeout,
+                           @Value("${shareit-gateway.batch.threads:16}") final int threads,
+                           @Value("${shareit-gateway.batch.queue-capacity:256}") final int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.userRateLimiter = userRateLimiter;
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        // Literal paths come before the templates that would also match them.
+        this.routes = List.of(
+                new Route(HttpMethod.GET, "/users", op -> users.getAllUsers()),
+                new Route(HttpMethod.POST, "/users", op -> users.createUser(op.body(UserDto.class))),
+                new Route(HttpMethod.GET, "/users/{id}", op -> users.getUser(op.id())),
+                new Route(HttpMethod.PATCH, "/users/{id}", op ->
+                        users.updateUser(op.id(), op.body(UserPatchDto.class))),
+                new Route(HttpMethod.DELETE, "/users/{id}", op -> users.deleteUser(op.id())),
+
+                new Route(HttpMethod.GET, "/items", op -> items.getUserItems(op.userId())),
+                new Route(HttpMethod.POST, "/items", op -> items.createItem(op.userId(), op.body(ItemDto.class))),
+                new Route(HttpMethod.GET, "/items/search", op -> items.searchItems(op.param("text"),
+                        op.intParam("from", 0), op.intParam("size", 10))),
+                new Route(HttpMethod.GET, "/items/{id}", op -> items.getItem(op.userId(), op.id())),
+                new Route(HttpMethod.PATCH, "/items/{id}", op ->
+                        items.updateItem(op.userId(), op.id(), op.body(ItemPatchDto.class))),
+                new Route(HttpMethod.GET, "/items/{id}/availability", op -> items.getItemAvailability(op.id(),
+                        op.dateTimeParam("from"), op.dateTimeParam("to"))),
+                new Route(HttpMethod.POST, "/items/{id}/comment", op ->
+                        items.addComment(op.userId(), op.id(), op.body(CommentRequestDto.class))),
+
+                new Route(HttpMethod.GET, "/bookings", op -> bookings.getBookings(op.userId(),
+                        op.optionalParam("state", "all"), op.intParam("from", 0), op.intParam("size", 10),
+                        op.optionalParam("cursor", null))),
+                new Route(HttpMethod.POST, "/bookings", op ->
+                        bookings.bookItem(op.userId(), op.body(BookingDto.class))),
+                new Route(HttpMethod.GET, "/bookings/owner", op -> bookings.getOwnerBookings(op.userId(),
+                        op.optionalParam("state", "all"), op.intParam("from", 0), op.intParam("size", 10),
+                        op.optionalParam("cursor", null))),
+                new Route(HttpMethod.PATCH, "/bookings/owner", op -> bookings.decideBookings(op.userId(),
+                        op.booleanParam("approved"), op.body(BookingDecisionRequestDto.class))),
+                new Route(HttpMethod.GET, "/bookings/{id}", op -> bookings.getBooking(op.userId(), op.id())),
+                new Route(HttpMethod.PATCH, "/bookings/{id}", op ->
+                        bookings.approveBooking(op.userId(), op.id(), op.booleanParam("approved"))),
+
+                new Route(HttpMethod.GET, "/requests", op -> requests.getUserRequests(op.userId())),
+                new Route(HttpMethod.POST, "/requests", op ->
+                        requests.createRequest(op.userId(), op.body(ItemRequestDto.class))),
+                new Route(HttpMethod.GET, "/requests/all", op -> requests.getAllRequests(op.userId(),
+                        op.intParam("from", 0), op.intParam("size", 10))),
+                new Route(HttpMethod.GET, "/requests/{id}", op -> requests.getRequestById(op.userId(), op.id()))
+        );
+    }
+
+    public List<BatchResultDto> execute(List<BatchOperationDto> operations, Long userId) {
+        long budgetMillis = Math.min(timeoutMillis, RequestDeadline.remainingMillis().orElse(timeoutMillis));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+
+        List<Future<BatchResultDto>> results = new ArrayList<>(operations.size());
+        for (BatchOperationDto operation : operations) {
+            results.add(executor.submit(() -> RequestDeadline.callWith(deadline, () -> run(operation, userId))));
+        }
+
+        List<BatchResultDto> collected = new ArrayList<>(results.size());
+        for (Future<BatchResultDto> result : results) {
+            collected.add(await(result, deadline));
+        }
+        return collected;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private BatchResultDto await(Future<BatchResultDto> result, long deadline) {
+        try {
+            return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            return error(HttpStatus.GATEWAY_TIMEOUT, Map.of(), "Operation timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            return error(HttpStatus.SERVICE_UNAVAILABLE, Map.of(), "Batch interrupted");
+        } catch (ExecutionException e) {
+            log.warn("Batch operation failed", e.getCause());
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, Map.of(), "Operation failed");
+        }
+    }
+
+    private BatchResultDto run(BatchOperationDto operation, Long userId) {
+        try {
+            UriComponents uri = UriComponentsBuilder.fromUriString(operation.path()).build();
+            HttpMethod method = HttpMethod.valueOf(operation.method());
+            String path = uri.getPath() == null ? "" : uri.getPath();
+            for (Route route : routes) {
+                if (route.method().equals(method) && route.template().matches(path)) {
+                    chargeRateLimit(userId);
+                    Operation op = new Operation(userId, route.template().match(path), uri.getQueryParams(),
+                            operation.body());
+                    return toResult(route.handler().apply(op));
+                }
+            }
+            return error(HttpStatus.NOT_FOUND, Map.of(), "No handler for " + operation.method() + " " + path);
+        } catch (ConstraintViolationException e) {
+            return error(HttpStatus.BAD_REQUEST, Map.of(), e.getConstraintViolations().stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", ")));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, Map.of(), e.getMessage());
+        } catch (TooManyRequestsException e) {
+            return error(HttpStatus.TOO_MANY_REQUESTS,
+                    Map.of(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds())), e.getMessage());
+        } catch (ServerOverloadedException e) {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, Map.of(HttpHeaders.RETRY_AFTER, "1"), e.getMessage());
+        } catch (DeadlineExceededException e) {
+            return error(HttpStatus.GATEWAY_TIMEOUT, Map.of(), e.getMessage());
+        } catch (ResourceAccessException e) {
+            return e.getCause() instanceof SocketTimeoutException
+                    ? error(HttpStatus.GATEWAY_TIMEOUT, Map.of(), "Request deadline exceeded")
+                    : error(HttpStatus.BAD_GATEWAY, Map.of(), "Server unavailable");
+        }
+    }
+
+    private void chargeRateLimit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long waitNanos = userRateLimiter.tryAcquire(userId);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many requests for user " + userId,
+                    UserRateLimiter.retryAfterSeconds(waitNanos));
+        }
+    }
+
+    private BatchResultDto toResult(ResponseEntity<Object> response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        response.getHeaders().forEach((name, values) -> {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (lowerCaseName.startsWith("x-") || lowerCaseName.equals("retry-after")
+                    || lowerCaseName.equals("location")) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+
+        Object body = response.getBody();
+        if (body == null || body instanceof byte[] bytes && bytes.length == 0) {
+            return new BatchResultDto(response.getStatusCode().value(), headers, null);
+        }
+        if (!(body instanceof byte[] bytes)) {
+            return new BatchResultDto(response.getStatusCode().value(), headers, json(body));
+        }
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        MediaType contentType = response.getHeaders().getContentType();
+        boolean json = contentType == null || MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+        return new BatchResultDto(response.getStatusCode().value(), headers, json ? text : json(text));
+    }
+
+    private BatchResultDto error(HttpStatus status, Map<String, String> headers, String message) {
+        return new BatchResultDto(status.value(), headers, "{\"error\": " + json(message) + "}");
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Route(HttpMethod method, UriTemplate template, Function<Operation, ResponseEntity<Object>> handler) {
+        Route(HttpMethod method, String template, Function<Operation, ResponseEntity<Object>> handler) {
+            this(method, new UriTemplate(template), handler);
+        }
+    }
+
+    /**
+     * The arguments of one operation, converted the way Spring MVC would convert them for the controller.
+     */
+    private final class Operation {
+        private final Long userId;
+        private final Map<String, String> variables;
+        private final MultiValueMap<String, String> parameters;
+        private final JsonNode body;
+
+        Operation(Long userId, Map<String, String> variables, MultiValueMap<String, String> parameters,
+                  JsonNode body) {
+            this.userId = userId;
+            this.variables = variables;
+            this.parameters = parameters;
+            this.body = body;
+        }
+
+        long userId() {
+            if (userId == null) {
+                throw new IllegalArgumentException("Required header '" + USER_HEADER + "' is not present");
+            }
+            return userId;
+        }
+
+        long id() {
+            return Long.parseLong(variables.get("id"));
+        }
+
+        String param(String name) {
+            String value = optionalParam(name, null);
+            if (value == null) {
+                throw new IllegalArgumentException("Required parameter '" + name + "' is not present");
+            }
+            return value;
+        }
+
+        String optionalParam(String name, String defaultValue) {
+            String value = parameters.getFirst(name);
+            return value == null ? defaultValue : UriUtils.decode(value, StandardCharsets.UTF_8);
+        }
+
+        int intParam(String name, int defaultValue) {
+            return Integer.parseInt(optionalParam(name, String.valueOf(defaultValue)));
+        }
+
+        boolean booleanParam(String name) {
+            String value = param(name);
+            if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException("Parameter '" + name + "' must be true or false");
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        LocalDateTime dateTimeParam(String name) {
+            try {
+                return LocalDateTime.parse(param(name));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Parameter '" + name + "' must be an ISO date-time");
+            }
+        }
+
+        <T> T body(Class<T> type) {
+            if (body == null || body.isNull()) {
+                throw new IllegalArgumentException("Required request body is missing");
+            }
+            T value;
+            try {
+                value = objectMapper.treeToValue(body, type);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed request body: " + e.getOriginalMessage());
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(value);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+            return value;
+        }
+    }
+}
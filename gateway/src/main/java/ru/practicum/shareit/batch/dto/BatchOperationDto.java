@@ -0,0 +1,16 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+public record BatchOperationDto(
+        @NotNull
+        @Pattern(regexp = "GET|POST|PUT|PATCH|DELETE", message = "Unsupported method")
+        String method,
+        @NotBlank
+        @Pattern(regexp = "/(users|items|bookings|requests)(?!.*\\.\\.)([/?].*)?", message = "Unsupported path")
+        String path,
+        JsonNode body
+) {}
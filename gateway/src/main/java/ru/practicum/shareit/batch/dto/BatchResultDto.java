@@ -0,0 +1,12 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.Map;
+
+public record BatchResultDto(
+        int status,
+        Map<String, String> headers,
+        @JsonRawValue
+        String body
+) {}
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import ru.practicum.shareit.booking.dto.BookingDecisionRequestDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
@@ -32,11 +33,15 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
 
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get bookings with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+        log.info("Get bookings with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        if (cursor != null) {
+            return bookingClient.getUserBookings(userId, state, cursor, size);
+        }
         return bookingClient.getUserBookings(userId, state, from, size);
     }
 
@@ -45,11 +50,15 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
 
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get owner bookings with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
+        log.info("Get owner bookings with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        if (cursor != null) {
+            return bookingClient.getOwnerBookings(userId, state, cursor, size);
+        }
         return bookingClient.getOwnerBookings(userId, state, from, size);
     }
 
@@ -70,6 +79,15 @@ public class BookingController {
         return bookingClient.approveBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping("/owner")
+    public ResponseEntity<Object> decideBookings(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam boolean approved,
+            @RequestBody @Valid BookingDecisionRequestDto request) {
+        log.info("Deciding bookings {}, userId={}, approved={}", request, userId, approved);
+        return bookingClient.decideBookings(userId, request, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(
             @RequestHeader("X-Sharer-User-Id") long userId,
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BookingDecisionRequestDto(
+        @Size(min = 1, max = 1000)
+        List<@NotNull Long> bookingIds,
+        @Positive
+        Long itemId
+) {
+    @JsonIgnore
+    @AssertTrue(message = "Either bookingIds or itemId must be given")
+    public boolean isSingleTarget() {
+        return (bookingIds == null) != (itemId == null);
+    }
+}
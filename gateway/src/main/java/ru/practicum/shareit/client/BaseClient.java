@@ -1,8 +1,15 @@
 package ru.practicum.shareit.client;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -11,14 +18,46 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.deadline.RequestDeadline;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+import ru.practicum.shareit.exception.ServerOverloadedException;
+import ru.practicum.shareit.limit.AdaptiveConcurrencyLimiter;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "transfer-encoding", "content-length", "date", "trailer", "upgrade",
+            "proxy-authenticate");
+
     protected final RestTemplate rest;
+    private boolean passthrough = true;
+    @Nullable
+    private RequestCoalescer coalescer;
+    @Nullable
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
     }
 
+    /**
+     * In passthrough mode the server response body is returned to the caller as raw bytes together with its
+     * status and end-to-end headers, instead of being parsed into maps and serialized again by the gateway.
+     */
+    @Autowired
+    public void setPassthrough(@Value("${shareit-server.passthrough:true}") boolean passthrough) {
+        this.passthrough = passthrough;
+    }
+
+    @Autowired
+    public void setCoalescer(RequestCoalescer coalescer) {
+        this.coalescer = coalescer;
+    }
+
+    @Autowired
+    public void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
     protected ResponseEntity<Object> get(String path) {
         return get(path, null, null);
     }
@@ -43,6 +82,16 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
+    /**
+     * Sends the body to the server as it is read rather than buffering it first, so uploads of any size pass
+     * through. How long an upload takes depends on its size, so it is not taken as a sign of server load.
+     */
+    protected ResponseEntity<Object> postStream(String path, long userId, MediaType contentType, InputStream body) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setContentType(contentType);
+        return send(HttpMethod.POST, path, null, new HttpEntity<>(new InputStreamResource(body), headers), false);
+    }
+
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
@@ -82,6 +131,53 @@ public class BaseClient {
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
+        if (method == HttpMethod.GET && coalescer != null) {
+            return coalescer.execute(coalescingKey(path, userId, parameters),
+                    () -> send(method, path, parameters, requestEntity, true));
+        }
+        return send(method, path, parameters, requestEntity, true);
+    }
+
+    /**
+     * Identifies a GET by its expanded server URI and the user it is made for. The user id is only sent where it
+     * affects the response, so requests without it are shared across users.
+     */
+    private String coalescingKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String uri = (parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path)).toString();
+        return userId != null ? uri + "#" + userId : uri;
+    }
+
+    private <T> ResponseEntity<Object> send(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                            HttpEntity<T> requestEntity, boolean sampleLatency) {
+        OptionalLong remaining = RequestDeadline.remainingMillis();
+        if (remaining.isPresent() && remaining.getAsLong() <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before calling the server");
+        }
+        if (concurrencyLimiter == null) {
+            return exchange(method, path, parameters, requestEntity);
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            throw new ServerOverloadedException("Server is overloaded, try again later");
+        }
+        long started = System.nanoTime();
+        try {
+            return exchange(method, path, parameters, requestEntity);
+        } finally {
+            if (sampleLatency) {
+                concurrencyLimiter.release(System.nanoTime() - started);
+            } else {
+                concurrencyLimiter.releaseUnsampled();
+            }
+        }
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters, HttpEntity<T> requestEntity) {
+        if (passthrough) {
+            return forward(method, path, parameters, requestEntity);
+        }
+
         ResponseEntity<Object> shareitServerResponse;
         try {
             if (parameters != null) {
@@ -95,6 +191,36 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> forward(HttpMethod method, String path, @Nullable Map<String, Object> parameters, HttpEntity<T> requestEntity) {
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(endToEndHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
+        }
+        return ResponseEntity.status(shareitServerResponse.getStatusCode())
+                .headers(endToEndHeaders(shareitServerResponse.getHeaders()))
+                .body(shareitServerResponse.getBody());
+    }
+
+    private static HttpHeaders endToEndHeaders(@Nullable HttpHeaders headers) {
+        HttpHeaders result = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    result.addAll(name, values);
+                }
+            });
+        }
+        return result;
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -102,6 +228,8 @@ public class BaseClient {
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        RequestDeadline.remainingMillis()
+                .ifPresent(remaining -> headers.set(RequestDeadline.HEADER, String.valueOf(remaining)));
         return headers;
     }
 
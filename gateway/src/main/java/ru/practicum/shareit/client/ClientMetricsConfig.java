@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+@Configuration
+public class ClientMetricsConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor clientMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        // Public calls declared by the concrete clients, not the BaseClient plumbing they share.
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return BaseClient.class.isAssignableFrom(targetClass)
+                        && method.getDeclaringClass() != BaseClient.class
+                        && BaseClient.class.isAssignableFrom(method.getDeclaringClass())
+                        && Modifier.isPublic(method.getModifiers())
+                        && ResponseEntity.class.isAssignableFrom(method.getReturnType());
+            }
+        };
+        return new DefaultPointcutAdvisor(pointcut, new ClientMetricsInterceptor(meterRegistry));
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+/**
+ * Records every server client call in the {@value #METRIC} timer, tagged by client, method, outcome of the
+ * response status, exception and, for booking listings, the requested {@link BookingState}.
+ */
+class ClientMetricsInterceptor implements MethodInterceptor {
+    static final String METRIC = "shareit.gateway.client";
+    private static final String NONE = "none";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    ClientMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+        Timer.Sample sample = Timer.start(registry);
+        Outcome outcome = Outcome.UNKNOWN;
+        String exception = NONE;
+        try {
+            Object result = invocation.proceed();
+            if (result instanceof ResponseEntity<?> response) {
+                outcome = Outcome.forStatus(response.getStatusCode().value());
+            }
+            return result;
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .description("Latency of gateway calls to the server")
+                    .tag("client", invocation.getMethod().getDeclaringClass().getSimpleName())
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("outcome", outcome.name())
+                    .tag("exception", exception)
+                    .tag("state", state(invocation.getArguments()))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    private static String state(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof BookingState state) {
+                return state.name();
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import ru.practicum.shareit.deadline.RequestDeadline;
+
+import java.time.Duration;
+
+/**
+ * One pooled keep-alive HTTP client shared by every {@link BaseClient}, so all gateway clients reuse the same
+ * connections to the server.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager(
+            @Value("${shareit-server.http.max-connections:200}") final int maxConnections,
+            @Value("${shareit-server.http.max-connections-per-route:200}") final int maxConnectionsPerRoute,
+            @Value("${shareit-server.http.connect-timeout:2s}") final Duration connectTimeout,
+            @Value("${shareit-server.http.read-timeout:30s}") final Duration readTimeout,
+            @Value("${shareit-server.http.validate-after-inactivity:2s}") final Duration validateAfterInactivity) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public RequestConfig shareitServerRequestConfig(
+            @Value("${shareit-server.http.connection-request-timeout:1s}") final Duration connectionRequestTimeout,
+            @Value("${shareit-server.http.read-timeout:30s}") final Duration readTimeout) {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareitServerHttpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            RequestConfig shareitServerRequestConfig,
+            @Value("${shareit-server.http.idle-eviction:30s}") final Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(shareitServerRequestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .build();
+    }
+
+    /**
+     * Requests made while handling a request with a deadline wait for the server no longer than the remaining budget.
+     */
+    @Bean
+    public RestTemplateCustomizer shareitServerRequestFactoryCustomizer(CloseableHttpClient shareitServerHttpClient,
+                                                                        RequestConfig shareitServerRequestConfig) {
+        HttpComponentsClientHttpRequestFactory requestFactory =
+                new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            RequestDeadline.remainingMillis().ifPresent(remaining -> context.setRequestConfig(
+                    withDeadline(shareitServerRequestConfig, Math.max(1, remaining))));
+            return context;
+        });
+        return restTemplate -> restTemplate.setRequestFactory(requestFactory);
+    }
+
+    @Bean
+    public MeterBinder shareitServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+    }
+
+    private static RequestConfig withDeadline(RequestConfig defaults, long remainingMillis) {
+        Timeout remaining = Timeout.ofMilliseconds(remainingMillis);
+        return RequestConfig.copy(defaults)
+                .setConnectionRequestTimeout(min(defaults.getConnectionRequestTimeout(), remaining))
+                .setResponseTimeout(min(defaults.getResponseTimeout(), remaining))
+                .build();
+    }
+
+    private static Timeout min(Timeout configured, Timeout remaining) {
+        return configured == null || configured.toMilliseconds() > remaining.toMilliseconds() ? remaining : configured;
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.deadline.RequestDeadline;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for identical GET requests: while a call for a key is in flight, later callers with the same key
+ * wait for it and receive the same response instead of sending their own request to the server.
+ *
+ * <p>A follower waits no longer than its own request deadline. If the call it joined fails, which may be down to
+ * the leader's shorter deadline, it tries once more on its own budget, leading or joining a new call.
+ */
+@Component
+public class RequestCoalescer {
+    private final boolean enabled;
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${shareit-server.coalescing.enabled:true}") final boolean enabled) {
+        this.enabled = enabled;
+        this.executed = Counter.builder("shareit.gateway.coalescing.requests")
+                .description("Gateway GET requests, by whether they called the server or joined a call in flight")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("shareit.gateway.coalescing.requests")
+                .description("Gateway GET requests, by whether they called the server or joined a call in flight")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<Object> execute(String key, Supplier<ResponseEntity<Object>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return execute(key, call, true);
+    }
+
+    private ResponseEntity<Object> execute(String key, Supplier<ResponseEntity<Object>> call, boolean mayRetry) {
+        CompletableFuture<ResponseEntity<Object>> own = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return await(existing);
+            } catch (ExecutionException e) {
+                if (mayRetry) {
+                    return execute(key, call, false);
+                }
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        executed.increment();
+        ResponseEntity<Object> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException | Error e) {
+            // Removed before completing, so a follower that retries does not join the failed call again.
+            inFlight.remove(key, own);
+            own.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, own);
+        own.complete(response);
+        return response;
+    }
+
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> call)
+            throws ExecutionException {
+        OptionalLong remaining = RequestDeadline.remainingMillis();
+        try {
+            if (remaining.isEmpty()) {
+                return call.get();
+            }
+            return call.get(Math.max(remaining.getAsLong(), 0), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Request deadline exceeded while waiting for the server");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Interrupted while waiting for the server");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+import java.time.Duration;
+
+/**
+ * Starts the deadline of every request: the configured timeout, or the caller's own {@value RequestDeadline#HEADER}
+ * if that is shorter.
+ */
+@Component
+public class DeadlineInterceptor implements HandlerInterceptor {
+    private final long timeoutMillis;
+
+    public DeadlineInterceptor(@Value("${shareit-gateway.deadline.timeout:10s}") final Duration timeout) {
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long budgetMillis = timeoutMillis;
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header != null) {
+            try {
+                budgetMillis = Math.min(budgetMillis, Long.parseLong(header.trim()));
+            } catch (NumberFormatException e) {
+                // A malformed budget from the caller is ignored in favour of the default.
+            }
+        }
+        if (budgetMillis <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before processing");
+        }
+        RequestDeadline.start(budgetMillis);
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.deadline;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Bulk imports take as long as their bodies do, so they get a budget of their own instead of the default one.
+ */
+@Configuration
+public class DeadlineWebConfig implements WebMvcConfigurer {
+    private static final String IMPORT_PATH = "/items/import";
+
+    private final DeadlineInterceptor deadlineInterceptor;
+    private final Duration importTimeout;
+
+    public DeadlineWebConfig(DeadlineInterceptor deadlineInterceptor,
+                             @Value("${shareit-gateway.deadline.import-timeout:30s}") final Duration importTimeout) {
+        this.deadlineInterceptor = deadlineInterceptor;
+        this.importTimeout = importTimeout;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(deadlineInterceptor).excludePathPatterns(IMPORT_PATH);
+        registry.addInterceptor(new DeadlineInterceptor(importTimeout)).addPathPatterns(IMPORT_PATH);
+    }
+}
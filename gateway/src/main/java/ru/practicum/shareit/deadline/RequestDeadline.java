@@ -0,0 +1,62 @@
+package ru.practicum.shareit.deadline;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Deadline of the request being handled. It is propagated to the server in {@value #HEADER} as the remaining
+ * budget in milliseconds, and bounds how long the gateway waits for the server's answer.
+ *
+ * <p>Work handed to other threads on behalf of a request gets its deadline through {@link #callWith}, as a plain
+ * value, so it never reads the attributes of a request that may have completed and been recycled meanwhile.
+ */
+public final class RequestDeadline {
+    public static final String HEADER = "X-Request-Timeout";
+    private static final String ATTRIBUTE = RequestDeadline.class.getName();
+    private static final ThreadLocal<Long> DETACHED = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(long budgetMillis) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+            attributes.setAttribute(ATTRIBUTE, deadline, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Runs {@code task} on the current thread with the given deadline, a {@link System#nanoTime()} value, in place
+     * of any request deadline. The previous one is put back afterwards.
+     */
+    public static <T> T callWith(long deadlineNanos, Supplier<T> task) {
+        Long previous = DETACHED.get();
+        DETACHED.set(deadlineNanos);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                DETACHED.remove();
+            } else {
+                DETACHED.set(previous);
+            }
+        }
+    }
+
+    public static OptionalLong remainingMillis() {
+        Long detached = DETACHED.get();
+        if (detached != null) {
+            return OptionalLong.of(TimeUnit.NANOSECONDS.toMillis(detached - System.nanoTime()));
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || !(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long deadline)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+}
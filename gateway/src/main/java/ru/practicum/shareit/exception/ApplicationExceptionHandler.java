@@ -0,0 +1,69 @@
+package ru.practicum.shareit.exception;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.SocketTimeoutException;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestControllerAdvice
+public class ApplicationExceptionHandler {
+    private static final String OVERLOAD_RETRY_AFTER_SECONDS = "1";
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<String> handleConstraintViolationException(final ConstraintViolationException e) {
+        final String errorMessage = e.getConstraintViolations()
+                .stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining(", "));
+        log.warn("Validation error: {}", errorMessage);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body("{\"error\": \"" + errorMessage + "\"}");
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<String> handleTooManyRequestsException(final TooManyRequestsException e) {
+        final String errorMessage = e.getMessage();
+        log.warn("Rate limit exceeded: {}", errorMessage);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body("{\"error\": \"" + errorMessage + "\"}");
+    }
+
+    @ExceptionHandler(ServerOverloadedException.class)
+    public ResponseEntity<String> handleServerOverloadedException(final ServerOverloadedException e) {
+        final String errorMessage = e.getMessage();
+        log.warn("Load shed: {}", errorMessage);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, OVERLOAD_RETRY_AFTER_SECONDS)
+                .body("{\"error\": \"" + errorMessage + "\"}");
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<String> handleDeadlineExceededException(final DeadlineExceededException e) {
+        final String errorMessage = e.getMessage();
+        log.warn("Deadline exceeded: {}", errorMessage);
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body("{\"error\": \"" + errorMessage + "\"}");
+    }
+
+    @ExceptionHandler(ResourceAccessException.class)
+    public ResponseEntity<String> handleResourceAccessException(final ResourceAccessException e) {
+        if (e.getCause() instanceof SocketTimeoutException) {
+            log.warn("Server did not answer within the deadline: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                    .body("{\"error\": \"Request deadline exceeded\"}");
+        }
+        log.warn("Server unavailable: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body("{\"error\": \"Server unavailable\"}");
+    }
+}
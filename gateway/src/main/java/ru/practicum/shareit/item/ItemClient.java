@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.client.BaseClient;
@@ -10,20 +11,32 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemPatchDto;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Map;
+
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    private final ItemSearchCache searchCache;
+
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ItemSearchCache searchCache) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
                 .build());
+        this.searchCache = searchCache;
     }
 
     public ResponseEntity<Object> createItem(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
+    public ResponseEntity<Object> importItems(long userId, MediaType contentType, InputStream body) {
+        return postStream("/import", userId, contentType, body);
+    }
+
     public ResponseEntity<Object> updateItem(long userId, long itemId, ItemPatchDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
@@ -36,8 +49,22 @@ public class ItemClient extends BaseClient {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> searchItems(String text) {
-        return get("/search?text=" + text);
+    public ResponseEntity<Object> searchItems(String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return searchCache.get(text, from, size,
+                () -> get("/search?text={text}&from={from}&size={size}", null, parameters));
+    }
+
+    public ResponseEntity<Object> getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentRequestDto commentRequestDto) {
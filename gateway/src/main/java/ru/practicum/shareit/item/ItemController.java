@@ -1,9 +1,15 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,15 +23,20 @@ import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemPatchDto;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 public class ItemController {
     private final ItemClient itemClient;
     private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
 
     @PostMapping
     public ResponseEntity<Object> createItem(
@@ -35,6 +46,15 @@ public class ItemController {
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV})
+    public ResponseEntity<Object> importItems(
+            @RequestHeader(REQUEST_HEADER) long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        log.info("Importing items: userId={}, contentType={}", userId, contentType);
+        return itemClient.importItems(userId, contentType, body);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(
             @RequestHeader(REQUEST_HEADER) long userId,
@@ -59,13 +79,25 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam("text") String text) {
-        log.info("Searching items with text: {}", text);
+    public ResponseEntity<Object> searchItems(
+            @RequestParam("text") String text,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Searching items with text: {}, from={}, size={}", text, from, size);
         if (text.isBlank()) {
             log.info("Empty search query, returning empty list");
             return ResponseEntity.ok(Collections.emptyList());
         }
-        return itemClient.searchItems(text);
+        return itemClient.searchItems(text, from, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getItemAvailability(
+            @PathVariable long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Fetching availability: itemId={}, from={}, to={}", itemId, from, to);
+        return itemClient.getItemAvailability(itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
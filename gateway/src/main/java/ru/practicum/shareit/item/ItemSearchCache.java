@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Short-lived cache of item search responses. Search results do not depend on the caller, matching is
+ * case-insensitive and the server trims the text and collapses runs of whitespace, so entries are keyed by the text
+ * normalized the same way and lower-cased, and the page. Only {@code 200 OK} responses that the gateway passes
+ * through as raw bytes are cached, weighted by their body size.
+ */
+@Component
+public class ItemSearchCache {
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final boolean enabled;
+    private final Cache<String, ResponseEntity<Object>> cache;
+
+    @Autowired
+    public ItemSearchCache(MeterRegistry meterRegistry,
+                           @Value("${shareit-server.search-cache.enabled:true}") final boolean enabled,
+                           @Value("${shareit-server.search-cache.ttl:10s}") final Duration ttl,
+                           @Value("${shareit-server.search-cache.max-weight:16MB}") final DataSize maxWeight) {
+        this(meterRegistry, enabled, ttl, maxWeight, ForkJoinPool.commonPool());
+    }
+
+    ItemSearchCache(MeterRegistry meterRegistry, boolean enabled, Duration ttl, DataSize maxWeight,
+                    Executor maintenance) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .executor(maintenance)
+                .expireAfterWrite(ttl)
+                .maximumWeight(maxWeight.toBytes())
+                .weigher(ItemSearchCache::weigh)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "itemSearch");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", "itemSearch")
+                .description("Share of item search lookups answered from the cache since start")
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<Object> get(String text, int from, int size, Supplier<ResponseEntity<Object>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        String key = normalize(text) + '\n' + from + '\n' + size;
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        ResponseEntity<Object> response = search.get();
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() instanceof byte[]) {
+            cache.put(key, response);
+        }
+        return response;
+    }
+
+    private static String normalize(String text) {
+        return WHITESPACE.matcher(text.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static int weigh(String key, ResponseEntity<Object> response) {
+        byte[] body = (byte[]) response.getBody();
+        return ENTRY_OVERHEAD_BYTES + 2 * key.length() + (body == null ? 0 : body.length);
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Global limit on concurrent calls from the gateway to the server that adapts to server latency, in the manner
+ * of a gradient limiter: a short and a long moving average of call latency are tracked, and whenever the short
+ * one climbs above the long one by more than the tolerance the limit shrinks proportionally; otherwise it grows
+ * by roughly its square root. Calls over the limit are shed instead of queueing behind a slow server.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+    private static final double SHORT_ALPHA = 0.1;
+    private static final double LONG_ALPHA = 0.002;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private final Counter shed;
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${shareit-gateway.concurrency-limit.enabled:true}") final boolean enabled,
+                                      @Value("${shareit-gateway.concurrency-limit.initial:50}") final int initialLimit,
+                                      @Value("${shareit-gateway.concurrency-limit.min:10}") final int minLimit,
+                                      @Value("${shareit-gateway.concurrency-limit.max:200}") final int maxLimit) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.shed = Counter.builder("shareit.gateway.requests.rejected")
+                .description("Requests rejected by the gateway before reaching the server")
+                .tag("reason", "overload")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.concurrency.limit", this, limiter -> limiter.limit)
+                .description("Current adaptive limit on concurrent calls to the server")
+                .register(meterRegistry);
+        Gauge.builder("shareit.gateway.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Calls to the server currently in flight")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                shed.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        if (!enabled) {
+            return;
+        }
+        int concurrent = inFlight.getAndDecrement();
+        // A sample that arrives while another one is being applied is dropped rather than waited for.
+        if (!sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            update(latencyNanos, concurrent);
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    /**
+     * Releases a call whose latency says nothing about the server, such as an upload that takes as long as its body.
+     */
+    public void releaseUnsampled() {
+        if (enabled) {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void update(double latency, int concurrent) {
+        shortRtt = shortRtt == 0 ? latency : shortRtt + SHORT_ALPHA * (latency - shortRtt);
+        longRtt = longRtt == 0 ? latency : longRtt + LONG_ALPHA * (latency - longRtt);
+        // Let the baseline follow quickly once latency has dropped well below it.
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        // Far below the limit the latency says nothing about how much more the server can take.
+        double current = limit;
+        if (concurrent < current / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        limit = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+/**
+ * Applies the per-user rate limit to every request that carries {@code X-Sharer-User-Id}, before the controller
+ * and its client are invoked. Requests without a valid user id are left to the controllers to reject.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final UserRateLimiter userRateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(USER_HEADER);
+        if (header == null) {
+            return true;
+        }
+        long userId;
+        try {
+            userId = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+
+        long waitNanos = userRateLimiter.tryAcquire(userId);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many requests for user " + userId,
+                    UserRateLimiter.retryAfterSeconds(waitNanos));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user token buckets. Each user has a single timestamp, the theoretical arrival time of their next request
+ * (the generic cell rate algorithm), which allows {@code requests-per-second} on average and bursts of up to
+ * {@code burst} requests. A user's state is dropped once it has been idle long enough for the bucket to be full
+ * again, and at most {@code max-users} states are kept; a user evicted under that bound starts over with a full
+ * bucket, so eviction can only ever be lenient.
+ */
+@Component
+public class UserRateLimiter {
+    private final boolean enabled;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Ticker ticker;
+    private final Cache<Long, AtomicLong> arrivals;
+    private final Counter rejected;
+
+    @Autowired
+    public UserRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${shareit-gateway.rate-limit.enabled:true}") final boolean enabled,
+                           @Value("${shareit-gateway.rate-limit.requests-per-second:50}") final double requestsPerSecond,
+                           @Value("${shareit-gateway.rate-limit.burst:100}") final int burst,
+                           @Value("${shareit-gateway.rate-limit.max-users:100000}") final long maxUsers) {
+        this(meterRegistry, enabled, requestsPerSecond, burst, maxUsers, Ticker.systemTicker());
+    }
+
+    UserRateLimiter(MeterRegistry meterRegistry, boolean enabled, double requestsPerSecond, int burst, long maxUsers,
+                    Ticker ticker) {
+        this.enabled = enabled;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstNanos = intervalNanos * burst;
+        this.ticker = ticker;
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofNanos(burstNanos + intervalNanos))
+                .ticker(ticker)
+                .build();
+        this.rejected = Counter.builder("shareit.gateway.requests.rejected")
+                .description("Requests rejected by the gateway before reaching the server")
+                .tag("reason", "rate-limit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for the user.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until the next token is available
+     */
+    public long tryAcquire(long userId) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = ticker.read();
+        AtomicLong arrival = arrivals.get(userId, id -> new AtomicLong(now - burstNanos));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return Math.max(1, (waitNanos + second - 1) / second);
+    }
+}
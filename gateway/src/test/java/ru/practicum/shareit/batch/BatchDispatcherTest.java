@@ -0,0 +1,181 @@
+package ru.practicum.shareit.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.practicum.shareit.batch.dto.BatchOperationDto;
+import ru.practicum.shareit.batch.dto.BatchResultDto;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.deadline.RequestDeadline;
+import ru.practicum.shareit.exception.ServerOverloadedException;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit-gateway.rate-limit.enabled=false",
+        "shareit-gateway.batch.threads=2",
+        "shareit-gateway.batch.queue-capacity=1"
+})
+@AutoConfigureMockMvc
+class BatchDispatcherTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BatchDispatcher batchDispatcher;
+
+    @MockBean
+    private UserClient userClient;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Test
+    void execute_ShouldReportEveryOperationOnItsOwnWhenSomeFail() throws Exception {
+        when(userClient.createUser(new UserDto(null, "Ann", "ann@example.com")))
+                .thenReturn(json(HttpStatus.CREATED, "{\"id\": 1, \"name\": \"Ann\"}"));
+        when(userClient.getUser(7L)).thenReturn(json(HttpStatus.NOT_FOUND, "{\"error\": \"User not found: 7\"}"));
+        when(itemClient.searchItems("drill set", 0, 10)).thenReturn(json(HttpStatus.OK, "[]"));
+
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": [" + String.join(", ",
+                                "{\"method\": \"POST\", \"path\": \"/users\", "
+                                        + "\"body\": {\"name\": \"Ann\", \"email\": \"ann@example.com\"}}",
+                                "{\"method\": \"POST\", \"path\": \"/users\", "
+                                        + "\"body\": {\"name\": \"Bob\", \"email\": \"not-an-email\"}}",
+                                "{\"method\": \"GET\", \"path\": \"/users/7\"}",
+                                "{\"method\": \"GET\", \"path\": \"/items/search?text=drill%20set\"}",
+                                "{\"method\": \"PATCH\", \"path\": \"/bookings/5\"}",
+                                "{\"method\": \"DELETE\", \"path\": \"/items/5\"}") + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].body.name").value("Ann"))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[2].status").value(404))
+                .andExpect(jsonPath("$[2].body.error").value("User not found: 7"))
+                .andExpect(jsonPath("$[3].status").value(200))
+                .andExpect(jsonPath("$[3].body").isArray())
+                .andExpect(jsonPath("$[4].status").value(400))
+                .andExpect(jsonPath("$[4].body.error").value("Required parameter 'approved' is not present"))
+                .andExpect(jsonPath("$[5].status").value(404));
+
+        verify(userClient, never()).createUser(new UserDto(null, "Bob", "not-an-email"));
+        verify(bookingClient, never()).approveBooking(anyLong(), any(), eq(true));
+    }
+
+    @Test
+    void execute_ShouldPropagateStatusAndHeadersOfEachOperation() throws Exception {
+        when(bookingClient.getUserBookings(3L, BookingState.ALL, "abc", 2)).thenReturn(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Next-Cursor", "def")
+                .header("Cache-Control", "no-store")
+                .body("[]".getBytes(StandardCharsets.UTF_8)));
+        when(bookingClient.getBooking(3L, 9L)).thenThrow(new ServerOverloadedException("Server is overloaded"));
+
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 3)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": [{\"method\": \"GET\", \"path\": \"/bookings?cursor=abc&size=2\"}, "
+                                + "{\"method\": \"GET\", \"path\": \"/bookings/9\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].headers.X-Next-Cursor").value("def"))
+                .andExpect(jsonPath("$[0].headers.Cache-Control").doesNotExist())
+                .andExpect(jsonPath("$[1].status").value(503))
+                .andExpect(jsonPath("$[1].headers.Retry-After").value("1"));
+    }
+
+    @Test
+    void execute_ShouldCompleteConcurrentBatchesLargerThanThePool() throws Exception {
+        when(userClient.getUser(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return json(HttpStatus.OK, "{\"id\": " + invocation.getArgument(0) + "}");
+        });
+        List<BatchOperationDto> operations = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            operations.add(new BatchOperationDto("GET", "/users/" + i, null));
+        }
+
+        ExecutorService callers = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<List<BatchResultDto>>> batches = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                batches.add(callers.submit(() -> batchDispatcher.execute(operations, null)));
+            }
+            for (Future<List<BatchResultDto>> batch : batches) {
+                List<BatchResultDto> results = batch.get(30, TimeUnit.SECONDS);
+                assertThat(results).extracting(BatchResultDto::status)
+                        .containsExactlyElementsOf(Collections.nCopies(20, 200));
+                assertThat(results.get(19).body()).isEqualTo("{\"id\": 19}");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldGiveOperationsTheDeadlineButNotTheRequestAttributes() throws Exception {
+        AtomicReference<Object> attributes = new AtomicReference<>("unset");
+        AtomicLong remaining = new AtomicLong(-1);
+        when(userClient.getUser(4L)).thenAnswer(invocation -> {
+            attributes.set(RequestContextHolder.getRequestAttributes());
+            remaining.set(RequestDeadline.remainingMillis().orElse(-1));
+            return json(HttpStatus.OK, "{\"id\": 4}");
+        });
+
+        mockMvc.perform(post("/batch")
+                        .header("X-Sharer-User-Id", 4)
+                        .header(RequestDeadline.HEADER, 5000)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": [{\"method\": \"GET\", \"path\": \"/users/4\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200));
+
+        assertThat(attributes.get()).isNull();
+        assertThat(remaining.get()).isBetween(1L, 5000L);
+    }
+
+    private static ResponseEntity<Object> json(HttpStatus status, String body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
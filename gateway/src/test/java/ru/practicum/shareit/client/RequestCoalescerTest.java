@@ -0,0 +1,172 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.deadline.RequestDeadline;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry, true);
+        callers = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void execute_SameKey_ShouldShareOneCallAndCountIt() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<ResponseEntity<Object>> call = () -> {
+            calls.incrementAndGet();
+            await(release);
+            return ResponseEntity.ok("item 1");
+        };
+
+        Future<ResponseEntity<Object>> leader = callers.submit(() -> coalescer.execute("/items/1#1", call));
+        waitFor(() -> calls.get() == 1);
+        Future<ResponseEntity<Object>> follower = callers.submit(() -> coalescer.execute("/items/1#1", call));
+        waitFor(() -> count("coalesced") == 1);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("item 1");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(leader.get());
+        assertThat(calls).hasValue(1);
+        assertThat(count("executed")).isEqualTo(1);
+    }
+
+    @Test
+    void execute_SameUriForAnotherUser_ShouldNotBeCoalesced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<ResponseEntity<Object>> call = () -> {
+            calls.incrementAndGet();
+            await(release);
+            return ResponseEntity.ok("item 1");
+        };
+
+        Future<ResponseEntity<Object>> first = callers.submit(() -> coalescer.execute("/items/1#1", call));
+        Future<ResponseEntity<Object>> second = callers.submit(() -> coalescer.execute("/items/1#2", call));
+        waitFor(() -> calls.get() == 2);
+        release.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(count("executed")).isEqualTo(2);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    @Test
+    void execute_AfterLeaderFailed_ShouldCallTheServerAgain() {
+        assertThatThrownBy(() -> coalescer.execute("/items/1#1", () -> {
+            throw new IllegalStateException("Connection reset");
+        })).isInstanceOf(IllegalStateException.class);
+
+        ResponseEntity<Object> response = coalescer.execute("/items/1#1", () -> ResponseEntity.ok("item 1"));
+
+        assertThat(response.getBody()).isEqualTo("item 1");
+        assertThat(count("executed")).isEqualTo(2);
+    }
+
+    @Test
+    void execute_LeaderRunsOutOfItsShorterDeadline_ShouldLetFollowerCallOnItsOwnBudget() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<ResponseEntity<Object>> call = () -> {
+            if (calls.incrementAndGet() == 1) {
+                await(release);
+                throw new DeadlineExceededException("Request deadline exceeded");
+            }
+            return ResponseEntity.ok("item 1");
+        };
+
+        Future<ResponseEntity<Object>> leader = callers.submit(() -> withDeadline(50, () ->
+                coalescer.execute("/items/1#1", call)));
+        waitFor(() -> calls.get() == 1);
+        Future<ResponseEntity<Object>> follower = callers.submit(() -> withDeadline(5_000, () ->
+                coalescer.execute("/items/1#1", call)));
+        waitFor(() -> count("coalesced") == 1);
+        release.countDown();
+
+        assertThat(follower.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("item 1");
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(DeadlineExceededException.class);
+        assertThat(count("executed")).isEqualTo(2);
+    }
+
+    @Test
+    void execute_FollowerDeadlineShorterThanTheCall_ShouldStopWaitingWithDeadlineExceeded() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<ResponseEntity<Object>> call = () -> {
+            calls.incrementAndGet();
+            await(release);
+            return ResponseEntity.ok("item 1");
+        };
+
+        Future<ResponseEntity<Object>> leader = callers.submit(() -> coalescer.execute("/items/1#1", call));
+        waitFor(() -> calls.get() == 1);
+
+        assertThatThrownBy(() -> withDeadline(50, () -> coalescer.execute("/items/1#1", call)))
+                .isInstanceOf(DeadlineExceededException.class);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("item 1");
+        assertThat(calls).hasValue(1);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("shareit.gateway.coalescing.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static <T> T withDeadline(long budgetMillis, Supplier<T> action) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            RequestDeadline.start(budgetMillis);
+            return action.get();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitFor(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.get()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemSearchCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    void get_SameQueryUpToCaseAndWhitespace_ShouldBeAnsweredFromCache() {
+        ItemSearchCache cache = cache(DataSize.ofMegabytes(1));
+
+        ResponseEntity<Object> first = cache.get("Drill  set", 0, 10, search(HttpStatus.OK, "[]"));
+
+        assertThat(cache.get("drill set", 0, 10, search(HttpStatus.OK, "[]"))).isSameAs(first);
+        assertThat(cache.get(" DRILL\tset ", 0, 10, search(HttpStatus.OK, "[]"))).isSameAs(first);
+        assertThat(searches).hasValue(1);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "itemSearch").gauge().value())
+                .isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void get_OtherTextOrPage_ShouldMiss() {
+        ItemSearchCache cache = cache(DataSize.ofMegabytes(1));
+
+        cache.get("drill", 0, 10, search(HttpStatus.OK, "[]"));
+        cache.get("drill set", 0, 10, search(HttpStatus.OK, "[]"));
+        cache.get("drill", 10, 10, search(HttpStatus.OK, "[]"));
+        cache.get("drill", 0, 20, search(HttpStatus.OK, "[]"));
+
+        assertThat(searches).hasValue(4);
+    }
+
+    @Test
+    void get_OnlyOkResponses_ShouldBeCached() {
+        ItemSearchCache cache = cache(DataSize.ofMegabytes(1));
+
+        cache.get("drill", 0, 10, search(HttpStatus.SERVICE_UNAVAILABLE, "{\"error\": \"overloaded\"}"));
+        cache.get("drill", 0, 10, search(HttpStatus.NO_CONTENT, ""));
+        cache.get("drill", 0, 10, search(HttpStatus.OK, "[]"));
+        cache.get("drill", 0, 10, search(HttpStatus.OK, "[]"));
+
+        assertThat(searches).hasValue(3);
+    }
+
+    @Test
+    void get_OverMaxWeight_ShouldEvictByBodySize() {
+        ItemSearchCache cache = cache(DataSize.ofBytes(4000));
+        String body = "[" + "x".repeat(998) + "]";
+
+        for (String text : new String[]{"drill", "saw", "hammer", "ladder"}) {
+            cache.get(text, 0, 10, search(HttpStatus.OK, body));
+        }
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", "itemSearch").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "itemSearch").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    private ItemSearchCache cache(DataSize maxWeight) {
+        return new ItemSearchCache(meterRegistry, true, Duration.ofMinutes(1), maxWeight, Runnable::run);
+    }
+
+    private Supplier<ResponseEntity<Object>> search(HttpStatus status, String body) {
+        return () -> {
+            searches.incrementAndGet();
+            return ResponseEntity.status(status).body(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+}
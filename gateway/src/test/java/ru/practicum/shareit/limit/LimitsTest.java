@@ -0,0 +1,68 @@
+package ru.practicum.shareit.limit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit-gateway.rate-limit.requests-per-second=0.001",
+        "shareit-gateway.rate-limit.burst=2",
+        "shareit-gateway.concurrency-limit.initial=1",
+        "shareit-gateway.concurrency-limit.min=1",
+        "shareit-gateway.concurrency-limit.max=1"
+})
+@AutoConfigureMockMvc
+class LimitsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private boolean holdingPermit;
+
+    @AfterEach
+    void releasePermit() {
+        if (holdingPermit) {
+            concurrencyLimiter.releaseUnsampled();
+        }
+    }
+
+    @Test
+    void request_OverUserRateLimit_ShouldReturnTooManyRequestsWithRetryAfter() throws Exception {
+        holdPermit();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/items").header("X-Sharer-User-Id", 11))
+                    .andExpect(status().isServiceUnavailable());
+        }
+
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", 11))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", 12))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void request_OverConcurrencyLimit_ShouldReturnServiceUnavailableWithRetryAfter() throws Exception {
+        holdPermit();
+
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", 21))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    private void holdPermit() {
+        assertThat(concurrencyLimiter.tryAcquire()).isTrue();
+        holdingPermit = true;
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRateLimiterTest {
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final UserRateLimiter limiter = new UserRateLimiter(new SimpleMeterRegistry(), true, 10, 3, 1000,
+            now::get);
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenRejectUntilNextToken() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(1L)).isZero();
+        }
+
+        assertThat(limiter.tryAcquire(1L)).isEqualTo(INTERVAL_NANOS);
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(1L);
+        }
+
+        now.addAndGet(INTERVAL_NANOS);
+        assertThat(limiter.tryAcquire(1L)).isZero();
+        assertThat(limiter.tryAcquire(1L)).isPositive();
+
+        now.addAndGet(3 * INTERVAL_NANOS);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire(1L)).isZero();
+        }
+        assertThat(limiter.tryAcquire(1L)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_ShouldNotLetOneUserSpendAnotherUsersBudget() {
+        while (limiter.tryAcquire(1L) == 0) {
+            // Exhaust the first user.
+        }
+
+        for (long userId = 2; userId < 500; userId++) {
+            assertThat(limiter.tryAcquire(userId)).as("user %d", userId).isZero();
+        }
+        assertThat(limiter.tryAcquire(1L)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_WhenDisabled_ShouldAlwaysAllow() {
+        UserRateLimiter disabled = new UserRateLimiter(new SimpleMeterRegistry(), false, 10, 3, 1000, now::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(disabled.tryAcquire(1L)).isZero();
+        }
+    }
+
+    @Test
+    void retryAfterSeconds_ShouldRoundUpToWholeSeconds() {
+        assertThat(UserRateLimiter.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(UserRateLimiter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1))).isEqualTo(1);
+        assertThat(UserRateLimiter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1) + 1)).isEqualTo(2);
+    }
+}
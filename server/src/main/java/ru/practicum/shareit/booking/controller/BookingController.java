@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,7 +14,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionRequestDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -26,6 +30,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
     private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private final BookingService bookingService;
 
@@ -46,6 +51,14 @@ public class BookingController {
         return bookingService.approveBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping("/owner")
+    public List<BookingDecisionDto> decideBookings(
+            @RequestHeader(REQUEST_HEADER) final long userId,
+            @RequestParam("approved") final boolean approved,
+            @RequestBody final BookingDecisionRequestDto request) {
+        return bookingService.decideBookings(userId, request, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingResponseDto getBooking(
             @RequestHeader(REQUEST_HEADER) final long userId,
@@ -54,11 +67,12 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponseDto> getUserBookings(
+    public ResponseEntity<List<BookingResponseDto>> getUserBookings(
             @RequestHeader(REQUEST_HEADER) final long userId,
             @RequestParam(value = "state", defaultValue = "ALL") final String state,
             @RequestParam(value = "from", defaultValue = "0") final int from,
-            @RequestParam(value = "size", defaultValue = "10") final int size) {
+            @RequestParam(value = "size", defaultValue = "10") final int size,
+            @RequestParam(value = "cursor", required = false) final String cursor) {
 
         BookingState bookingState;
         try {
@@ -67,15 +81,19 @@ public class BookingController {
             throw new ValidationException("Unknown state: " + state);
         }
 
-        return bookingService.getUserBookings(userId, bookingState, from, size);
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getUserBookings(userId, bookingState, from, size));
+        }
+        return toPageResponse(bookingService.getUserBookingsPage(userId, bookingState, cursor, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getOwnerBookings(
+    public ResponseEntity<List<BookingResponseDto>> getOwnerBookings(
             @RequestHeader(REQUEST_HEADER) final long userId,
             @RequestParam(value = "state", defaultValue = "ALL") final String state,
             @RequestParam(value = "from", defaultValue = "0") final int from,
-            @RequestParam(value = "size", defaultValue = "10") final int size) {
+            @RequestParam(value = "size", defaultValue = "10") final int size,
+            @RequestParam(value = "cursor", required = false) final String cursor) {
 
         BookingState bookingState;
         try {
@@ -84,6 +102,17 @@ public class BookingController {
             throw new ValidationException("Unknown state: " + state);
         }
 
-        return bookingService.getOwnerBookings(userId, bookingState, from, size);
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getOwnerBookings(userId, bookingState, from, size));
+        }
+        return toPageResponse(bookingService.getOwnerBookingsPage(userId, bookingState, cursor, size));
+    }
+
+    private static ResponseEntity<List<BookingResponseDto>> toPageResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.bookings());
     }
 }
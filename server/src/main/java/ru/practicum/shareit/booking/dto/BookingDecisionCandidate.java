@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+
+public record BookingDecisionCandidate(
+        Long id,
+        Long itemId,
+        Long ownerId,
+        Booking.BookingStatus status,
+        LocalDateTime start,
+        LocalDateTime end
+) {}
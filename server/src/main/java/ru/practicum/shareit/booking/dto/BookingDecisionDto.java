@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.BookingDecisionOutcome;
+
+public record BookingDecisionDto(
+        Long bookingId,
+        BookingDecisionOutcome outcome
+) {}
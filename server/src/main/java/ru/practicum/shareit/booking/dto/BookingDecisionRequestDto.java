@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.List;
+
+/**
+ * Names the bookings to decide on: either {@code bookingIds}, or the waiting bookings of {@code itemId}, oldest
+ * first and at most as many per call as could be listed by id.
+ */
+public record BookingDecisionRequestDto(
+        List<Long> bookingIds,
+        Long itemId
+) {}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.List;
+
+public record BookingPageDto(
+        List<BookingResponseDto> bookings,
+        String nextCursor
+) {}
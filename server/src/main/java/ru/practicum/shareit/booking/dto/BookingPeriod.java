@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+public record BookingPeriod(
+        LocalDateTime start,
+        LocalDateTime end
+) {}
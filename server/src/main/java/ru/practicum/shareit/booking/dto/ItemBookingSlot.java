@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The last ({@code last = true}) or next approved booking of an item.
+ */
+public record ItemBookingSlot(
+        Long itemId,
+        boolean last,
+        Long id,
+        Long bookerId,
+        LocalDateTime start,
+        LocalDateTime end
+) {}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.mapper;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.ItemBookingSlot;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
@@ -23,11 +24,15 @@ public class BookingMapper {
     }
 
     public static BookingResponseDto toBookingDto(Booking booking) {
+        return toBookingDto(booking, booking.getStatus());
+    }
+
+    public static BookingResponseDto toBookingDto(Booking booking, Booking.BookingStatus status) {
         return new BookingResponseDto(
                 booking.getId(),
                 booking.getStart(),
                 booking.getEnd(),
-                booking.getStatus(),
+                status,
                 new UserShortDto(booking.getBooker().getId()),
                 new ItemShortDto(booking.getItem().getId(), booking.getItem().getName(), booking.getItem().getOwner().getId())
         );
@@ -41,4 +46,13 @@ public class BookingMapper {
                 booking.getEnd()
         );
     }
+
+    public static BookingShortDto toBookingShortDto(ItemBookingSlot slot) {
+        return new BookingShortDto(
+                slot.id(),
+                slot.bookerId(),
+                slot.start(),
+                slot.end()
+        );
+    }
 }
\ No newline at end of file
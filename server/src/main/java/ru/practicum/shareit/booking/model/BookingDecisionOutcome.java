@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking.model;
+
+public enum BookingDecisionOutcome {
+    APPROVED, REJECTED, NOT_FOUND, FORBIDDEN, ALREADY_DECIDED, CONFLICT
+}
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.model;
+
+/**
+ * The most recent finished and the nearest upcoming approved booking of an item, either may be {@code null}.
+ */
+public record LastAndNextBookings(Booking last, Booking next) {}
@@ -1,63 +1,171 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingDecisionCandidate;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.dto.ItemBookingSlot;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.LastAndNextBookings;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+    @EntityGraph(attributePaths = "item")
+    Window<Booking> findByBookerIdOrderByStartDescIdDesc(Long bookerId, ScrollPosition position, Limit limit);
 
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @EntityGraph(attributePaths = "item")
+    Window<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long bookerId, LocalDateTime start, LocalDateTime end, ScrollPosition position, Limit limit);
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime end, Pageable pageable);
+    @EntityGraph(attributePaths = "item")
+    Window<Booking> findByBookerIdAndEndBeforeOrderByStartDescIdDesc(Long bookerId, LocalDateTime end, ScrollPosition position, Limit limit);
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime start, Pageable pageable);
+    @EntityGraph(attributePaths = "item")
+    Window<Booking> findByBookerIdAndStartAfterOrderByStartDescIdDesc(Long bookerId, LocalDateTime start, ScrollPosition position, Limit limit);
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, Booking.BookingStatus status, Pageable pageable);
+    @EntityGraph(attributePaths = "item")
+    Window<Booking> findByBookerIdAndStatusOrderByStartDescIdDesc(Long bookerId, Booking.BookingStatus status, ScrollPosition position, Limit limit);
 
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
+    @EntityGraph(attributePaths = "item")
+    Window<Booking> findByItemOwnerIdOrderByStartDescIdDesc(Long ownerId, ScrollPosition position, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Long ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    @EntityGraph(attributePaths = "item")
+    Window<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Long ownerId, LocalDateTime start, LocalDateTime end, ScrollPosition position, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime end, Pageable pageable);
+    @EntityGraph(attributePaths = "item")
+    Window<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(Long ownerId, LocalDateTime end, ScrollPosition position, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime start, Pageable pageable);
+    @EntityGraph(attributePaths = "item")
+    Window<Booking> findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(Long ownerId, LocalDateTime start, ScrollPosition position, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, Booking.BookingStatus status, Pageable pageable);
+    @EntityGraph(attributePaths = "item")
+    Window<Booking> findByItemOwnerIdAndStatusOrderByStartDescIdDesc(Long ownerId, Booking.BookingStatus status, ScrollPosition position, Limit limit);
 
     boolean existsByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime now);
 
     @Query("""
-            SELECT b FROM Booking b
+            SELECT COUNT(b) > 0 FROM Booking b
             WHERE b.item.id = :itemId
              AND b.status = 'APPROVED'
-             AND b.end < CURRENT_TIMESTAMP
-            ORDER BY b.end DESC
-            LIMIT 1
+             AND b.start < :end
+             AND b.end > :start
            """)
-    Optional<Booking> findLastBooking(@Param("itemId") Long itemId);
+    boolean existsApprovedOverlap(@Param("itemId") Long itemId,
+                                  @Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
 
     @Query("""
-            SELECT b FROM Booking b
+            SELECT new ru.practicum.shareit.booking.model.LastAndNextBookings(lb, nb)
+            FROM Item i
+            LEFT JOIN Booking lb ON lb.id = (
+                SELECT b.id FROM Booking b
+                WHERE b.item.id = :itemId
+                 AND b.status = 'APPROVED'
+                 AND b.end < CURRENT_TIMESTAMP
+                ORDER BY b.end DESC, b.id
+                LIMIT 1)
+            LEFT JOIN Booking nb ON nb.id = (
+                SELECT b.id FROM Booking b
+                WHERE b.item.id = :itemId
+                 AND b.status = 'APPROVED'
+                 AND b.start > CURRENT_TIMESTAMP
+                ORDER BY b.start ASC, b.id
+                LIMIT 1)
+            WHERE i.id = :itemId
+           """)
+    LastAndNextBookings findLastAndNextBookings(@Param("itemId") Long itemId);
+
+    /**
+     * Returns, for every item of the owner, its last finished and its nearest upcoming approved booking
+     * relative to {@code now}, at most two rows per item. Bookings that tie are decided by the lower id, as in
+     * {@link #findLastAndNextBookings}.
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.ItemBookingSlot(
+                r.itemId, r.isLast, r.bookingId, r.bookerId, r.startDate, r.endDate)
+            FROM (
+                SELECT b.item.id AS itemId, TRUE AS isLast, b.id AS bookingId, b.booker.id AS bookerId,
+                       b.start AS startDate, b.end AS endDate,
+                       ROW_NUMBER() OVER (PARTITION BY b.item.id ORDER BY b.end DESC, b.id) AS rowNumber
+                FROM Booking b
+                WHERE b.item.owner.id = :ownerId
+                 AND b.status = 'APPROVED'
+                 AND b.end < :now
+                UNION ALL
+                SELECT b.item.id, FALSE, b.id, b.booker.id, b.start, b.end,
+                       ROW_NUMBER() OVER (PARTITION BY b.item.id ORDER BY b.start ASC, b.id)
+                FROM Booking b
+                WHERE b.item.owner.id = :ownerId
+                 AND b.status = 'APPROVED'
+                 AND b.start > :now
+            ) r
+            WHERE r.rowNumber = 1
+           """)
+    List<ItemBookingSlot> findLastAndNextBookingsByOwner(@Param("ownerId") Long ownerId,
+                                                         @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingPeriod(b.start, b.end) FROM Booking b
             WHERE b.item.id = :itemId
              AND b.status = 'APPROVED'
-             AND b.start > CURRENT_TIMESTAMP
             ORDER BY b.start ASC
-            LIMIT 1
            """)
-    Optional<Booking> findNextBooking(@Param("itemId") Long itemId);
+    List<BookingPeriod> findApprovedPeriods(@Param("itemId") Long itemId);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingDecisionCandidate(
+                b.id, b.item.id, b.item.owner.id, b.status, b.start, b.end)
+            FROM Booking b
+            WHERE b.id IN :ids
+           """)
+    List<BookingDecisionCandidate> findDecisionCandidates(@Param("ids") Collection<Long> ids);
 
     @Query("""
-            SELECT b FROM Booking b
+            SELECT new ru.practicum.shareit.booking.dto.BookingDecisionCandidate(
+                b.id, b.item.id, b.item.owner.id, b.status, b.start, b.end)
+            FROM Booking b
+            WHERE b.item.id = :itemId
+             AND b.status = 'WAITING'
+            ORDER BY b.id
+           """)
+    List<BookingDecisionCandidate> findWaitingDecisionCandidates(@Param("itemId") Long itemId, Limit limit);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingDecisionCandidate(
+                b.id, b.item.id, b.item.owner.id, b.status, b.start, b.end)
+            FROM Booking b
             WHERE b.item.id IN :itemIds
-             AND b.status = :status
+             AND b.status = 'APPROVED'
+             AND b.start < :to
+             AND b.end > :from
+            ORDER BY b.start ASC
+           """)
+    List<BookingDecisionCandidate> findApprovedBetween(@Param("itemIds") Collection<Long> itemIds,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to);
+
+    /**
+     * Sets the status of those of the given bookings that are still waiting and belong to items of the owner.
+     *
+     * @return the number of bookings changed
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Booking b SET b.status = :status
+            WHERE b.id IN :ids
+             AND b.status = 'WAITING'
+             AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
            """)
-    List<Booking> findAllByItemIdInAndStatus(@Param("itemIds") List<Long> itemIds, @Param("status") Booking.BookingStatus status);
-}
\ No newline at end of file
+    int decideWaiting(@Param("ids") Collection<Long> ids,
+                      @Param("ownerId") Long ownerId,
+                      @Param("status") Booking.BookingStatus status);
+}
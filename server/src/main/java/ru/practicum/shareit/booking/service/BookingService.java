@@ -1,6 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionRequestDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.BookingState;
 
@@ -12,9 +15,15 @@ public interface BookingService {
 
     BookingResponseDto approveBooking(Long userId, Long bookingId, boolean approved);
 
+    List<BookingDecisionDto> decideBookings(Long userId, BookingDecisionRequestDto request, boolean approved);
+
     BookingResponseDto getBookingById(Long userId, Long bookingId);
 
     List<BookingResponseDto> getUserBookings(Long userId, BookingState bookingState, int from, int size);
 
+    BookingPageDto getUserBookingsPage(Long userId, BookingState bookingState, String cursor, int size);
+
     List<BookingResponseDto> getOwnerBookings(Long userId, BookingState bookingState, int from, int size);
+
+    BookingPageDto getOwnerBookingsPage(Long userId, BookingState bookingState, String cursor, int size);
 }
@@ -1,17 +1,23 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionCandidate;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionRequestDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingDecisionOutcome;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -21,16 +27,30 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_DECISIONS = 1000;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemLockManager itemLockManager;
+    private final BookingTimelineIndex bookingTimelineIndex;
 
     @Override
     @Transactional
@@ -52,9 +72,16 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Invalid booking dates");
         }
 
+        itemLockManager.lockUntilCompletion(item.getId());
+        checkNoApprovedOverlap(booking);
+
         return BookingMapper.toBookingDto(bookingRepository.save(booking));
     }
 
+    /**
+     * The status is changed with a conditional update rather than by saving the entity read above, so a decision
+     * made concurrently, for example by a bulk decision, is reported as a conflict instead of being overwritten.
+     */
     @Override
     @Transactional
     public BookingResponseDto approveBooking(Long userId, Long bookingId, boolean approved) {
@@ -65,17 +92,75 @@ public class BookingServiceImpl implements BookingService {
             throw new ForbiddenException("Access denied. Only owner can approve bookings");
         }
 
-        if (booking.getStatus().equals(Booking.BookingStatus.WAITING)) {
-            if (approved) {
-                booking.setStatus(Booking.BookingStatus.APPROVED);
+        if (!booking.getStatus().equals(Booking.BookingStatus.WAITING)) {
+            throw new ForbiddenException("Status already defined");
+        }
+
+        Booking.BookingStatus status = approved ? Booking.BookingStatus.APPROVED : Booking.BookingStatus.REJECTED;
+        if (approved) {
+            itemLockManager.lockUntilCompletion(booking.getItem().getId());
+            checkNoApprovedOverlap(booking);
+        }
+        BookingResponseDto decided = BookingMapper.toBookingDto(booking, status);
+        if (bookingRepository.decideWaiting(List.of(bookingId), userId, status) == 0) {
+            throw new ConflictException("Booking " + bookingId + " has already been decided");
+        }
+        if (approved) {
+            bookingTimelineIndex.registerApproval(booking);
+        }
+
+        return decided;
+    }
+
+    /**
+     * Decides on many waiting bookings with one {@code UPDATE} per target status instead of a read and a save per
+     * booking. Bookings that cannot be decided are reported instead of failing the whole request. Approvals are
+     * checked against approved bookings and each other in the order given, under the locks of all their items.
+     */
+    @Override
+    @Transactional
+    public List<BookingDecisionDto> decideBookings(Long userId, BookingDecisionRequestDto request, boolean approved) {
+        checkUserExists(userId);
+
+        Map<Long, BookingDecisionOutcome> outcomes = new LinkedHashMap<>();
+        List<BookingDecisionCandidate> waiting = new ArrayList<>();
+        BookingDecisionOutcome decided = approved ? BookingDecisionOutcome.APPROVED : BookingDecisionOutcome.REJECTED;
+        for (BookingDecisionCandidate candidate : findDecisionCandidates(userId, request, outcomes)) {
+            if (candidate == null) {
+                continue;
+            }
+            if (!userId.equals(candidate.ownerId())) {
+                outcomes.put(candidate.id(), BookingDecisionOutcome.FORBIDDEN);
+            } else if (candidate.status() != Booking.BookingStatus.WAITING) {
+                outcomes.put(candidate.id(), BookingDecisionOutcome.ALREADY_DECIDED);
             } else {
-                booking.setStatus(Booking.BookingStatus.REJECTED);
+                outcomes.put(candidate.id(), decided);
+                waiting.add(candidate);
             }
-        } else {
-            throw new ForbiddenException("Status already defined");
         }
 
-        return BookingMapper.toBookingDto(bookingRepository.save(booking));
+        List<BookingDecisionCandidate> accepted = approved ? withoutOverlaps(waiting, outcomes) : waiting;
+        Booking.BookingStatus status = approved ? Booking.BookingStatus.APPROVED : Booking.BookingStatus.REJECTED;
+        List<Long> ids = accepted.stream().map(BookingDecisionCandidate::id).toList();
+        if (!ids.isEmpty() && bookingRepository.decideWaiting(ids, userId, status) != ids.size()) {
+            // Some of the bookings were decided by someone else since they were read.
+            Set<Long> decidedElsewhere = bookingRepository.findDecisionCandidates(ids).stream()
+                    .filter(candidate -> candidate.status() != status)
+                    .map(BookingDecisionCandidate::id)
+                    .collect(Collectors.toSet());
+            decidedElsewhere.forEach(id -> outcomes.put(id, BookingDecisionOutcome.ALREADY_DECIDED));
+            accepted = accepted.stream()
+                    .filter(candidate -> !decidedElsewhere.contains(candidate.id()))
+                    .toList();
+        }
+        if (approved) {
+            accepted.forEach(candidate ->
+                    bookingTimelineIndex.registerApproval(candidate.itemId(), candidate.start(), candidate.end()));
+        }
+
+        return outcomes.entrySet().stream()
+                .map(entry -> new BookingDecisionDto(entry.getKey(), entry.getValue()))
+                .toList();
     }
 
     @Override
@@ -93,52 +178,164 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingResponseDto> getUserBookings(Long userId, BookingState bookingState, int from, int size) {
         checkUserExists(userId);
-        LocalDateTime now = LocalDateTime.now();
 
-        Pageable pageable = PageRequest.of(from / size, size,
-                Sort.by(Sort.Direction.DESC, "start"));
+        return toBookingDtos(findUserBookings(userId, bookingState, BookingCursor.offset(from), size));
+    }
 
-        List<Booking> bookings = switch (bookingState) {
-            case CURRENT -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now, pageable);
-            case PAST -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, now, pageable);
-            case FUTURE -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, now, pageable);
-            case WAITING ->
-                    bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, Booking.BookingStatus.WAITING, pageable);
-            case REJECTED ->
-                    bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, Booking.BookingStatus.REJECTED, pageable);
-            default -> bookingRepository.findByBookerIdOrderByStartDesc(userId, pageable);
-        };
+    @Override
+    public BookingPageDto getUserBookingsPage(Long userId, BookingState bookingState, String cursor, int size) {
+        checkUserExists(userId);
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return toBookingPage(findUserBookings(userId, bookingState, BookingCursor.decode(cursor), size));
     }
 
     @Override
     public List<BookingResponseDto> getOwnerBookings(Long userId, BookingState bookingState, int from, int size) {
         checkUserExists(userId);
+
+        return toBookingDtos(findOwnerBookings(userId, bookingState, BookingCursor.offset(from), size));
+    }
+
+    @Override
+    public BookingPageDto getOwnerBookingsPage(Long userId, BookingState bookingState, String cursor, int size) {
+        checkUserExists(userId);
+
+        return toBookingPage(findOwnerBookings(userId, bookingState, BookingCursor.decode(cursor), size));
+    }
+
+    private Window<Booking> findUserBookings(Long userId, BookingState bookingState, ScrollPosition position, int size) {
         LocalDateTime now = LocalDateTime.now();
+        Limit limit = Limit.of(size);
+
+        return switch (bookingState) {
+            case CURRENT ->
+                    bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(userId, now, now, position, limit);
+            case PAST -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(userId, now, position, limit);
+            case FUTURE -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc(userId, now, position, limit);
+            case WAITING ->
+                    bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(userId, Booking.BookingStatus.WAITING, position, limit);
+            case REJECTED ->
+                    bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(userId, Booking.BookingStatus.REJECTED, position, limit);
+            default -> bookingRepository.findByBookerIdOrderByStartDescIdDesc(userId, position, limit);
+        };
+    }
 
-        Pageable pageable = PageRequest.of(from / size, size,
-                Sort.by(Sort.Direction.DESC, "start"));
+    private Window<Booking> findOwnerBookings(Long userId, BookingState bookingState, ScrollPosition position, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        Limit limit = Limit.of(size);
 
-        List<Booking> bookings = switch (bookingState) {
+        return switch (bookingState) {
             case CURRENT ->
-                    bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now, pageable);
-            case PAST -> bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(userId, now, pageable);
-            case FUTURE -> bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(userId, now, pageable);
+                    bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(userId, now, now, position, limit);
+            case PAST -> bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(userId, now, position, limit);
+            case FUTURE -> bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(userId, now, position, limit);
             case WAITING ->
-                    bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(userId, Booking.BookingStatus.WAITING, pageable);
+                    bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(userId, Booking.BookingStatus.WAITING, position, limit);
             case REJECTED ->
-                    bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(userId, Booking.BookingStatus.REJECTED, pageable);
-            default -> bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, pageable);
+                    bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(userId, Booking.BookingStatus.REJECTED, position, limit);
+            default -> bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(userId, position, limit);
         };
+    }
 
+    private static List<BookingResponseDto> toBookingDtos(Window<Booking> bookings) {
         return bookings.stream()
                 .map(BookingMapper::toBookingDto)
                 .collect(Collectors.toList());
     }
 
+    private static BookingPageDto toBookingPage(Window<Booking> bookings) {
+        String nextCursor = bookings.hasNext() && !bookings.isEmpty()
+                ? BookingCursor.encode(bookings.positionAt(bookings.size() - 1))
+                : null;
+        return new BookingPageDto(toBookingDtos(bookings), nextCursor);
+    }
+
+    /**
+     * @return the bookings named by the request in the order to decide on them, with {@code null} in place of
+     *         every requested id that does not exist; those ids are reported in {@code outcomes} right away
+     */
+    private List<BookingDecisionCandidate> findDecisionCandidates(Long userId, BookingDecisionRequestDto request,
+                                                                  Map<Long, BookingDecisionOutcome> outcomes) {
+        if ((request.bookingIds() == null) == (request.itemId() == null)) {
+            throw new ValidationException("Either bookingIds or itemId must be given");
+        }
+
+        if (request.itemId() != null) {
+            Item item = getBookingItem(request.itemId());
+            if (!userId.equals(item.getOwner().getId())) {
+                throw new ForbiddenException("Access denied. Only owner can approve bookings");
+            }
+            return bookingRepository.findWaitingDecisionCandidates(item.getId(), Limit.of(MAX_DECISIONS));
+        }
+
+        if (request.bookingIds().stream().anyMatch(Objects::isNull)) {
+            throw new ValidationException("Booking ids must not be null");
+        }
+        Set<Long> ids = new LinkedHashSet<>(request.bookingIds());
+        if (ids.size() > MAX_DECISIONS) {
+            throw new ValidationException("At most " + MAX_DECISIONS + " bookings can be decided at once");
+        }
+        Map<Long, BookingDecisionCandidate> found = ids.isEmpty()
+                ? Map.of()
+                : bookingRepository.findDecisionCandidates(ids).stream()
+                        .collect(Collectors.toMap(BookingDecisionCandidate::id, Function.identity()));
+        List<BookingDecisionCandidate> candidates = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            outcomes.put(id, BookingDecisionOutcome.NOT_FOUND);
+            candidates.add(found.get(id));
+        }
+        return candidates;
+    }
+
+    /**
+     * Locks the items of the bookings and returns those that neither overlap an approved booking nor one approved
+     * earlier in this list; the others are reported as conflicts.
+     */
+    private List<BookingDecisionCandidate> withoutOverlaps(List<BookingDecisionCandidate> candidates,
+                                                           Map<Long, BookingDecisionOutcome> outcomes) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<Long> itemIds = candidates.stream()
+                .map(BookingDecisionCandidate::itemId)
+                .collect(Collectors.toSet());
+        itemLockManager.lockAllUntilCompletion(itemIds);
+
+        LocalDateTime from = candidates.stream()
+                .map(BookingDecisionCandidate::start)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime to = candidates.stream()
+                .map(BookingDecisionCandidate::end)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        Map<Long, TreeMap<LocalDateTime, LocalDateTime>> busy = new HashMap<>();
+        for (BookingDecisionCandidate approvedBooking : bookingRepository.findApprovedBetween(itemIds, from, to)) {
+            busy.computeIfAbsent(approvedBooking.itemId(), id -> new TreeMap<>())
+                    .merge(approvedBooking.start(), approvedBooking.end(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        List<BookingDecisionCandidate> accepted = new ArrayList<>(candidates.size());
+        for (BookingDecisionCandidate candidate : candidates) {
+            TreeMap<LocalDateTime, LocalDateTime> periods = busy.computeIfAbsent(candidate.itemId(),
+                    id -> new TreeMap<>());
+            Map.Entry<LocalDateTime, LocalDateTime> before = periods.lowerEntry(candidate.end());
+            if (before != null && before.getValue().isAfter(candidate.start())) {
+                outcomes.put(candidate.id(), BookingDecisionOutcome.CONFLICT);
+            } else {
+                periods.put(candidate.start(), candidate.end());
+                accepted.add(candidate);
+            }
+        }
+        return accepted;
+    }
+
+    private void checkNoApprovedOverlap(Booking booking) {
+        if (bookingRepository.existsApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+            throw new ConflictException("Item " + booking.getItem().getName() + " is already booked for these dates");
+        }
+    }
+
     private User checkUserExists(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found: " + userId));
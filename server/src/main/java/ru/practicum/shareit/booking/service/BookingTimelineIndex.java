@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.TimeWindowDto;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory calendar of approved bookings per item. A timeline is loaded from the database on first
+ * access and afterwards kept current from committed approvals, so repeated availability queries for
+ * the same item never hit the database.
+ *
+ * <p>Timelines are loaded outside the map, so a slow query never blocks other items. A load that overlaps the
+ * commit of any approval may have missed it, so its result is served once but not cached.
+ */
+@Component
+public class BookingTimelineIndex {
+    private final BookingRepository bookingRepository;
+    private final int maxItems;
+    private final ConcurrentMap<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+    private final AtomicLong committedApprovals = new AtomicLong();
+
+    public BookingTimelineIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.availability.max-items:10000}") final int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.maxItems = maxItems;
+    }
+
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        List<TimeWindowDto> busy = timeline(itemId).busy(from, to);
+        return new ItemAvailabilityDto(itemId, from, to, busy, ItemTimeline.free(busy, from, to));
+    }
+
+    public boolean isLoaded(Long itemId) {
+        return timelines.containsKey(itemId);
+    }
+
+    public void registerApproval(Booking booking) {
+        registerApproval(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+    }
+
+    public void registerApproval(Long itemId, LocalDateTime start, LocalDateTime end) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committedApprovals.incrementAndGet();
+                timelines.computeIfPresent(itemId, (id, timeline) -> timeline.with(start, end));
+            }
+        });
+    }
+
+    private ItemTimeline timeline(Long itemId) {
+        ItemTimeline timeline = timelines.get(itemId);
+        if (timeline != null) {
+            return timeline;
+        }
+        evictIfFull();
+        long approvalsBefore = committedApprovals.get();
+        ItemTimeline loaded = ItemTimeline.of(bookingRepository.findApprovedPeriods(itemId));
+        ItemTimeline existing = timelines.putIfAbsent(itemId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (committedApprovals.get() != approvalsBefore) {
+            timelines.remove(itemId, loaded);
+        }
+        return loaded;
+    }
+
+    private void evictIfFull() {
+        Iterator<Long> iterator = timelines.keySet().iterator();
+        while (timelines.size() >= maxItems && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
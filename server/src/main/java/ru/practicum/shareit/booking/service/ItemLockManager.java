@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-item locks held until the surrounding transaction completes. They are row locks on the items
+ * ({@code SELECT ... FOR UPDATE}), so only bookings of the same item wait for each other, the wait is bounded by
+ * the transaction timeout, and the locks also hold across server instances. On PostgreSQL the exclusion
+ * constraint on approved bookings remains the final guard against overlaps.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemLockManager {
+    private final ItemRepository itemRepository;
+
+    public void lockUntilCompletion(Long itemId) {
+        lockAllUntilCompletion(List.of(itemId));
+    }
+
+    /**
+     * Locks several items at once. Rows are locked in id order, so two callers locking overlapping sets of items
+     * cannot deadlock each other.
+     */
+    public void lockAllUntilCompletion(Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Item lock requires an active transaction");
+        }
+        if (!itemIds.isEmpty()) {
+            itemRepository.lockAllById(itemIds);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.item.dto.TimeWindowDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of disjoint busy intervals of one item, stored as sorted epoch-microsecond arrays.
+ */
+final class ItemTimeline {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final long[] starts;
+    private final long[] ends;
+
+    private ItemTimeline(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    static ItemTimeline of(List<BookingPeriod> periods) {
+        long[] starts = new long[periods.size()];
+        long[] ends = new long[periods.size()];
+        int size = 0;
+        for (BookingPeriod period : periods) {
+            long start = toMicros(period.start());
+            long end = toMicros(period.end());
+            if (size > 0 && start < starts[size - 1]) {
+                return ofUnsorted(periods);
+            }
+            if (size > 0 && start <= ends[size - 1]) {
+                ends[size - 1] = Math.max(ends[size - 1], end);
+            } else {
+                starts[size] = start;
+                ends[size] = end;
+                size++;
+            }
+        }
+        return new ItemTimeline(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+    }
+
+    private static ItemTimeline ofUnsorted(List<BookingPeriod> periods) {
+        List<BookingPeriod> sorted = new ArrayList<>(periods);
+        sorted.sort((a, b) -> a.start().compareTo(b.start()));
+        return of(sorted);
+    }
+
+    ItemTimeline with(LocalDateTime periodStart, LocalDateTime periodEnd) {
+        long start = toMicros(periodStart);
+        long end = toMicros(periodEnd);
+
+        int first = firstEndingAfterOrAt(start);
+        int last = first;
+        while (last < starts.length && starts[last] <= end) {
+            last++;
+        }
+        if (last - first == 1 && starts[first] <= start && ends[first] >= end) {
+            return this;
+        }
+
+        long mergedStart = first < last ? Math.min(start, starts[first]) : start;
+        long mergedEnd = first < last ? Math.max(end, ends[last - 1]) : end;
+
+        int size = starts.length - (last - first) + 1;
+        long[] newStarts = new long[size];
+        long[] newEnds = new long[size];
+        System.arraycopy(starts, 0, newStarts, 0, first);
+        System.arraycopy(ends, 0, newEnds, 0, first);
+        newStarts[first] = mergedStart;
+        newEnds[first] = mergedEnd;
+        System.arraycopy(starts, last, newStarts, first + 1, starts.length - last);
+        System.arraycopy(ends, last, newEnds, first + 1, ends.length - last);
+        return new ItemTimeline(newStarts, newEnds);
+    }
+
+    List<TimeWindowDto> busy(LocalDateTime from, LocalDateTime to) {
+        long fromMicros = toMicros(from);
+        long toMicros = toMicros(to);
+        List<TimeWindowDto> windows = new ArrayList<>();
+        for (int i = firstEndingAfter(fromMicros); i < starts.length && starts[i] < toMicros; i++) {
+            windows.add(new TimeWindowDto(
+                    fromMicros(Math.max(starts[i], fromMicros)),
+                    fromMicros(Math.min(ends[i], toMicros))));
+        }
+        return windows;
+    }
+
+    static List<TimeWindowDto> free(List<TimeWindowDto> busy, LocalDateTime from, LocalDateTime to) {
+        List<TimeWindowDto> windows = new ArrayList<>(busy.size() + 1);
+        LocalDateTime cursor = from;
+        for (TimeWindowDto window : busy) {
+            if (cursor.isBefore(window.start())) {
+                windows.add(new TimeWindowDto(cursor, window.start()));
+            }
+            cursor = window.end();
+        }
+        if (cursor.isBefore(to)) {
+            windows.add(new TimeWindowDto(cursor, to));
+        }
+        return windows;
+    }
+
+    private int firstEndingAfter(long micros) {
+        int index = Arrays.binarySearch(ends, micros);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index < ends.length && ends[index] <= micros) {
+            index++;
+        }
+        return index;
+    }
+
+    private int firstEndingAfterOrAt(long micros) {
+        int index = Arrays.binarySearch(ends, micros);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(EPOCH, dateTime);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+}
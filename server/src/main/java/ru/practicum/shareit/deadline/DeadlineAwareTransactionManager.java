@@ -0,0 +1,31 @@
+package ru.practicum.shareit.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.util.OptionalLong;
+
+/**
+ * Gives transactions started while handling a request with a deadline a timeout of the remaining budget, rounded
+ * up to whole seconds. Spring applies the transaction timeout as the JDBC query timeout of every statement in the
+ * transaction, and fails statements issued after it has passed. A transaction is not started at all once the
+ * budget is used up.
+ */
+public class DeadlineAwareTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        OptionalLong remaining = RequestDeadline.remainingMillis();
+        if (remaining.isEmpty()) {
+            return timeout;
+        }
+        long remainingMillis = remaining.getAsLong();
+        if (remainingMillis <= 0) {
+            throw new TransactionTimedOutException("Request deadline exceeded before the transaction started");
+        }
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE, (remainingMillis + 999) / 1000);
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSeconds : Math.min(timeout, remainingSeconds);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+import ru.practicum.shareit.exception.ValidationException;
+
+@Component
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header == null) {
+            return true;
+        }
+        long budgetMillis;
+        try {
+            budgetMillis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid " + RequestDeadline.HEADER + " header: " + header);
+        }
+        if (budgetMillis <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before processing");
+        }
+        RequestDeadline.start(budgetMillis);
+        return true;
+    }
+}
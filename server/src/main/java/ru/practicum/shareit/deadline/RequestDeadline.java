@@ -0,0 +1,43 @@
+package ru.practicum.shareit.deadline;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of the current request, as propagated by the gateway in {@value #HEADER} (remaining budget in
+ * milliseconds). It is kept as a request attribute, so it is only visible on the thread handling the request.
+ */
+public final class RequestDeadline {
+    public static final String HEADER = "X-Request-Timeout";
+    private static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(long budgetMillis) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+            attributes.setAttribute(ATTRIBUTE, deadline, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public static OptionalLong remainingMillis() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || !(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long deadline)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * @return whether the current request has a deadline and it has passed
+     */
+    public static boolean isExceeded() {
+        OptionalLong remaining = remainingMillis();
+        return remaining.isPresent() && remaining.getAsLong() <= 0;
+    }
+}
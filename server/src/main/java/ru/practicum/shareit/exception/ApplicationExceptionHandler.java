@@ -1,8 +1,11 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -59,6 +62,26 @@ public class ApplicationExceptionHandler {
                 .body("{\"error\": \"" + errorMessage + "\"}");
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolation(final DataIntegrityViolationException e) {
+        final String errorMessage = "Request conflicts with existing data";
+        log.warn("Data integrity violation: {}", e.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("{\"error\": \"" + errorMessage + "\"}");
+    }
+
+    @ExceptionHandler({
+            DeadlineExceededException.class,
+            TransactionTimedOutException.class,
+            QueryTimeoutException.class
+    })
+    public ResponseEntity<String> handleDeadlineExceeded(final Exception e) {
+        final String errorMessage = "Request deadline exceeded";
+        log.warn("Deadline exceeded: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body("{\"error\": \"" + errorMessage + "\"}");
+    }
+
     @ExceptionHandler(Throwable.class)
     public ResponseEntity<String> handleInternalServerError(final Throwable t) {
         final String errorMessage = "An unexpected error occurred: " + t.getMessage();
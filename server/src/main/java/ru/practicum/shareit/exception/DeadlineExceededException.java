@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(final String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,17 +18,28 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+import ru.practicum.shareit.item.model.ItemImportFormat;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
     private static final String REQUEST_HEADER = "X-Sharer-User-Id";
+    private static final String TOTAL_HITS_HEADER = "X-Total-Hits";
+    private static final String TOTAL_HITS_RELATION_HEADER = "X-Total-Hits-Relation";
     private final ItemService service;
 
     @PostMapping
@@ -35,6 +50,15 @@ public class ItemController {
         return service.createItem(userId, itemDto);
     }
 
+    @PostMapping("/import")
+    public ItemImportResultDto importItems(
+            @RequestHeader(REQUEST_HEADER) final long userId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final MediaType contentType,
+            final InputStream body) {
+        return service.importItems(userId, ItemImportFormat.of(contentType), new InputStreamReader(body,
+                contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8));
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(
             @RequestHeader(REQUEST_HEADER) final long userId,
@@ -56,8 +80,23 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> searchItems(@RequestParam("text") final String text) {
-        return service.searchItems(text);
+    public ResponseEntity<List<ItemDto>> searchItems(
+            @RequestParam("text") final String text,
+            @RequestParam(value = "from", defaultValue = "0") final int from,
+            @RequestParam(value = "size", defaultValue = "10") final int size) {
+        ItemSearchPageDto page = service.searchItems(text, from, size);
+        return ResponseEntity.ok()
+                .header(TOTAL_HITS_HEADER, String.valueOf(page.totalHits()))
+                .header(TOTAL_HITS_RELATION_HEADER, page.totalHitsExact() ? "eq" : "gte")
+                .body(page.items());
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(
+            @PathVariable("itemId") final long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to) {
+        return service.getItemAvailability(itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
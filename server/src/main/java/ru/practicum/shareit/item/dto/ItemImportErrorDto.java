@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item.dto;
+
+public record ItemImportErrorDto(
+        long line,
+        String error
+) {}
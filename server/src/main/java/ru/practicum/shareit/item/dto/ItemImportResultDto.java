@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of an item import. {@code errors} lists the first rejected rows by line number; {@code failed} counts all
+ * of them.
+ */
+public record ItemImportResultDto(
+        int imported,
+        int failed,
+        List<ItemImportErrorDto> errors
+) {}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.List;
+
+/**
+ * One page of search results. {@code totalHits} is exact when {@code totalHitsExact} is set and a lower
+ * bound otherwise.
+ */
+public record ItemSearchPageDto(
+        List<ItemDto> items,
+        long totalHits,
+        boolean totalHitsExact
+) {}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+public record TimeWindowDto(
+        LocalDateTime start,
+        LocalDateTime end
+) {}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.mapper;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.ItemCommentRow;
 
 public class CommentMapper {
 
@@ -13,4 +14,13 @@ public class CommentMapper {
                 comment.getCreated()
         );
     }
+
+    public static CommentDto toCommentDto(ItemCommentRow row) {
+        return new CommentDto(
+                row.commentId(),
+                row.commentText(),
+                row.authorName(),
+                row.commentCreated()
+        );
+    }
 }
\ No newline at end of file
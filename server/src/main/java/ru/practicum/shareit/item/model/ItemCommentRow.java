@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * An item joined with one of its comments and the comment author's name. Comment fields are {@code null}
+ * for an item without comments.
+ */
+public record ItemCommentRow(
+        Item item,
+        Long commentId,
+        String commentText,
+        String authorName,
+        LocalDateTime commentCreated
+) {}
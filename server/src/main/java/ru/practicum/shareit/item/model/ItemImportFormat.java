@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.model;
+
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Formats accepted by the item import: one JSON object per line, or CSV with a header row naming the columns.
+ */
+public enum ItemImportFormat {
+    NDJSON, CSV;
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final String CSV_VALUE = "text/csv";
+
+    public static ItemImportFormat of(MediaType contentType) {
+        if (MediaType.valueOf(NDJSON_VALUE).includes(contentType)) {
+            return NDJSON;
+        }
+        if (MediaType.valueOf(CSV_VALUE).includes(contentType)) {
+            return CSV;
+        }
+        throw new ValidationException("Unsupported import format: " + contentType);
+    }
+}
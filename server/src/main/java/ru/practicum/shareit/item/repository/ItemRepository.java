@@ -1,20 +1,39 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentRow;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemSearchRepository {
     List<Item> findAllByOwnerId(Long ownerId);
 
-    @Query("SELECT i FROM Item i " +
-            "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "   OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
-            "AND i.available = TRUE")
-    List<Item> search(@Param("text") String text);
+    @Query("""
+            SELECT new ru.practicum.shareit.item.model.ItemCommentRow(i, c.id, c.text, a.name, c.created)
+            FROM Item i
+            LEFT JOIN Comment c ON c.item.id = i.id
+            LEFT JOIN c.author a
+            WHERE i.id = :itemId
+            ORDER BY c.created
+           """)
+    List<ItemCommentRow> findWithComments(@Param("itemId") Long itemId);
 
     List<Item> findByRequestIdIn(List<Long> requestIds);
-}
\ No newline at end of file
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemDto(" +
+            "i.id, i.name, i.description, i.available, i.owner.id, i.request.id) " +
+            "FROM Item i ORDER BY i.id")
+    Stream<ItemDto> findAllForSearchIndex();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> lockAllById(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.repository;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.stream.Stream;
+
+public interface ItemSearchRepository {
+    /**
+     * Streams one page of available items whose name or description contains {@code text}, ignoring case,
+     * with name matches ranked first. The stream must be closed by the caller.
+     */
+    Stream<Item> search(String text, int from, int size);
+
+    /**
+     * Counts items matched by {@link #search}, but stops at {@code limit} so that broad queries never
+     * count the whole catalog.
+     */
+    long countMatches(String text, int limit);
+}
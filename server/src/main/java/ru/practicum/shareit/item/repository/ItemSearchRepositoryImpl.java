@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.stream.Stream;
+
+/**
+ * On PostgreSQL the substring match is served by the {@code pg_trgm} GIN indexes on name and description
+ * and ranked by trigram word similarity. Other databases (H2 in tests) fall back to a plain {@code LIKE}.
+ */
+class ItemSearchRepositoryImpl implements ItemSearchRepository {
+    private static final String POSTGRES_MATCH = "FROM items i " +
+            "WHERE i.items_is_available " +
+            "AND (i.items_name ILIKE '%' || :text || '%' OR i.items_description ILIKE '%' || :text || '%') ";
+
+    private static final String POSTGRES_SEARCH = "SELECT i.* " + POSTGRES_MATCH +
+            "ORDER BY GREATEST(word_similarity(:text, i.items_name), " +
+            "                  word_similarity(:text, i.items_description) * 0.5) DESC, i.items_id";
+
+    private static final String POSTGRES_MATCHED_IDS = "SELECT i.items_id " + POSTGRES_MATCH;
+
+    private static final String FALLBACK_MATCH = "FROM Item i " +
+            "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
+            "   OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "AND i.available = TRUE ";
+
+    private static final String FALLBACK_SEARCH = "SELECT i " + FALLBACK_MATCH +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) THEN 0 ELSE 1 END, i.id";
+
+    private static final String FALLBACK_MATCHED_IDS = "SELECT i.id " + FALLBACK_MATCH;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean postgres;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<Item> search(String text, int from, int size) {
+        if (isPostgres()) {
+            return entityManager.createNativeQuery(POSTGRES_SEARCH, Item.class)
+                    .setParameter("text", text)
+                    .setFirstResult(from)
+                    .setMaxResults(size)
+                    .getResultStream();
+        }
+        return entityManager.createQuery(FALLBACK_SEARCH, Item.class)
+                .setParameter("text", text)
+                .setFirstResult(from)
+                .setMaxResults(size)
+                .getResultStream();
+    }
+
+    @Override
+    public long countMatches(String text, int limit) {
+        Query query = isPostgres()
+                ? entityManager.createNativeQuery(POSTGRES_MATCHED_IDS)
+                : entityManager.createQuery(FALLBACK_MATCHED_IDS);
+        return query.setParameter("text", text)
+                .setMaxResults(limit)
+                .getResultList()
+                .size();
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+}
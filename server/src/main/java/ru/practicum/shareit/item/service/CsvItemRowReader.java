@@ -0,0 +1,155 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads items from CSV as described in RFC 4180. The first record names the columns: {@code name},
+ * {@code description} and {@code available} are required, {@code requestId} is optional, and any other column is
+ * ignored. Blank lines are skipped.
+ */
+final class CsvItemRowReader implements ItemRowReader {
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String AVAILABLE = "available";
+    private static final String REQUEST_ID = "requestid";
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final int NOTHING_PEEKED = -2;
+
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private int columnCount;
+    private long line = 1;
+    private int peeked = NOTHING_PEEKED;
+    private boolean unterminated;
+
+    CsvItemRowReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            return;
+        }
+        if (!header.isEmpty() && !header.get(0).isEmpty() && header.get(0).charAt(0) == BYTE_ORDER_MARK) {
+            header.set(0, header.get(0).substring(1));
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey(NAME) || !columns.containsKey(DESCRIPTION) || !columns.containsKey(AVAILABLE)) {
+            throw new ValidationException("CSV header must name the name, description and available columns");
+        }
+        columnCount = header.size();
+    }
+
+    @Override
+    public ItemImportRow next() throws IOException {
+        List<String> fields;
+        long start;
+        do {
+            start = line;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty() && !unterminated);
+
+        if (unterminated) {
+            return ItemImportRow.rejected(start, "Unterminated quoted field");
+        }
+        if (fields.size() != columnCount) {
+            return ItemImportRow.rejected(start, "Expected " + columnCount + " fields but got " + fields.size());
+        }
+        String available = fields.get(columns.get(AVAILABLE)).trim();
+        if (!available.isEmpty() && !available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            return ItemImportRow.rejected(start, "available must be true or false");
+        }
+        Long requestId = null;
+        if (columns.containsKey(REQUEST_ID) && !fields.get(columns.get(REQUEST_ID)).isBlank()) {
+            try {
+                requestId = Long.parseLong(fields.get(columns.get(REQUEST_ID)).trim());
+            } catch (NumberFormatException e) {
+                return ItemImportRow.rejected(start, "requestId must be a number");
+            }
+        }
+        return ItemImportRow.of(start, new ItemDto(null, fields.get(columns.get(NAME)),
+                fields.get(columns.get(DESCRIPTION)), available.isEmpty() ? null : Boolean.valueOf(available), null,
+                requestId));
+    }
+
+    /**
+     * @return the fields of the next record, or {@code null} at the end of the input
+     */
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        unterminated = false;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    unterminated = true;
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c < 0) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (c >= 0) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != NOTHING_PEEKED) {
+            int c = peeked;
+            peeked = NOTHING_PEEKED;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == NOTHING_PEEKED) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * A row of an import, starting at {@code line}: either the item it describes or why it could not be read.
+ */
+record ItemImportRow(
+        long line,
+        ItemDto item,
+        String error
+) {
+    static ItemImportRow of(long line, ItemDto item) {
+        return new ItemImportRow(line, item, null);
+    }
+
+    static ItemImportRow rejected(long line, String error) {
+        return new ItemImportRow(line, null, error);
+    }
+}
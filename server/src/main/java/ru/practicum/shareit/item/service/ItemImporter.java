@@ -0,0 +1,190 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.deadline.RequestDeadline;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemImportFormat;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates items for one owner from a streamed body. Rows are validated as they are read and saved in batches,
+ * each in a transaction of its own, so memory use does not grow with the size of the import and a bad row only
+ * costs itself. Batches already saved stay saved if a later one fails.
+ *
+ * <p>The import runs outside a transaction, so the request deadline is checked as rows are read and the import
+ * stops with a 504 once it has passed. Each batch transaction gets the remaining budget as its timeout.
+ */
+@Slf4j
+@Component
+public class ItemImporter {
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository requestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxErrors;
+    private final int maxLineLength;
+
+    public ItemImporter(ItemRepository itemRepository,
+                        UserRepository userRepository,
+                        ItemRequestRepository requestRepository,
+                        ItemSearchIndex itemSearchIndex,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${shareit.item-import.batch-size:500}") final int batchSize,
+                        @Value("${shareit.item-import.max-errors:1000}") final int maxErrors,
+                        @Value("${shareit.item-import.max-line-length:65536}") final int maxLineLength) {
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.requestRepository = requestRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.maxLineLength = maxLineLength;
+    }
+
+    public ItemImportResultDto importItems(long ownerId, ItemImportFormat format, Reader body) {
+        Result result = new Result();
+        try (BufferedReader reader = new BufferedReader(body)) {
+            ItemRowReader rows = switch (format) {
+                case NDJSON -> new NdjsonItemRowReader(reader, objectMapper, maxLineLength);
+                case CSV -> new CsvItemRowReader(reader);
+            };
+            List<ItemImportRow> batch = new ArrayList<>(batchSize);
+            for (ItemImportRow row = rows.next(); row != null; row = rows.next()) {
+                checkDeadline(ownerId, result);
+                String error = row.error() != null ? row.error() : validate(row.item());
+                if (error != null) {
+                    result.reject(row.line(), error);
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    save(ownerId, batch, result);
+                    batch.clear();
+                }
+            }
+            checkDeadline(ownerId, result);
+            save(ownerId, batch, result);
+        } catch (IOException e) {
+            throw new ValidationException("Failed to read the import body: " + e.getMessage());
+        }
+        log.info("Imported items: ownerId={}, imported={}, failed={}", ownerId, result.imported, result.failed);
+        return new ItemImportResultDto(result.imported, result.failed, result.errors);
+    }
+
+    private static void checkDeadline(long ownerId, Result result) {
+        if (RequestDeadline.isExceeded()) {
+            log.warn("Item import stopped by the request deadline: ownerId={}, imported={}, failed={}",
+                    ownerId, result.imported, result.failed);
+            throw new DeadlineExceededException("Request deadline exceeded after importing " + result.imported
+                    + " items");
+        }
+    }
+
+    private static String validate(ItemDto item) {
+        if (item.name() == null || item.name().isBlank()) {
+            return "name must not be blank";
+        }
+        if (item.name().length() > MAX_NAME_LENGTH) {
+            return "name must be at most " + MAX_NAME_LENGTH + " characters";
+        }
+        if (item.description() == null || item.description().isBlank()) {
+            return "description must not be blank";
+        }
+        if (item.available() == null) {
+            return "available must not be null";
+        }
+        return null;
+    }
+
+    private void save(long ownerId, List<ItemImportRow> batch, Result result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ItemImportErrorDto> rejected;
+        try {
+            rejected = transactionTemplate.execute(status -> saveBatch(ownerId, batch));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Item import batch not saved: {}", e.getMostSpecificCause().getMessage());
+            batch.forEach(row -> result.reject(row.line(), "Conflicts with existing data"));
+            return;
+        }
+        Objects.requireNonNull(rejected).forEach(error -> result.reject(error.line(), error.error()));
+        result.imported += batch.size() - rejected.size();
+    }
+
+    /**
+     * @return the rows that refer to item requests that do not exist
+     */
+    private List<ItemImportErrorDto> saveBatch(long ownerId, List<ItemImportRow> batch) {
+        Set<Long> requestIds = batch.stream()
+                .map(row -> row.item().requestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty()
+                ? Map.of()
+                : requestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        User owner = userRepository.getReferenceById(ownerId);
+
+        List<ItemImportErrorDto> rejected = new ArrayList<>();
+        List<Item> items = new ArrayList<>(batch.size());
+        for (ItemImportRow row : batch) {
+            Long requestId = row.item().requestId();
+            if (requestId != null && !requests.containsKey(requestId)) {
+                rejected.add(new ItemImportErrorDto(row.line(), "Item request not found: " + requestId));
+            } else {
+                items.add(ItemMapper.toItem(row.item(), owner, requestId != null ? requests.get(requestId) : null));
+            }
+        }
+        itemRepository.saveAll(items).forEach(itemSearchIndex::registerChange);
+        return rejected;
+    }
+
+    private final class Result {
+        private final List<ItemImportErrorDto> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        void reject(long line, String error) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ItemImportErrorDto(line, error));
+            }
+        }
+    }
+}
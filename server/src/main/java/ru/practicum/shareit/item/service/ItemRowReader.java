@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.service;
+
+import java.io.IOException;
+
+/**
+ * Reads the rows of an import one at a time, so that the body is never held in memory as a whole.
+ */
+interface ItemRowReader {
+
+    /**
+     * @return the next row, or {@code null} once the body has been read
+     */
+    ItemImportRow next() throws IOException;
+}
@@ -0,0 +1,248 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process trigram index over item names and descriptions. When enabled it is loaded from the
+ * database once the application is ready and afterwards kept current from committed item changes, so item
+ * search is answered without a database round trip. It matches the same items as the SQL search:
+ * case-insensitive substring of name or description, available items only. Results are ordered name matches
+ * first, then by id, which is the order of the {@code LIKE} fallback but not of PostgreSQL, where the SQL search
+ * ranks by trigram word similarity. On PostgreSQL, enabling the index therefore changes the order of results and
+ * which items land on a page, though not the set of matches or the total.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet available = new BitSet();
+    private ItemDto[] items = new ItemDto[1024];
+    private String[] names = new String[1024];
+    private String[] descriptions = new String[1024];
+    private int size;
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.ngram-index.enabled:false}") final boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void bootstrap() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        try (Stream<ItemDto> all = itemRepository.findAllForSearchIndex()) {
+            load(all);
+        }
+        log.info("Item search index loaded: {} items, {} trigrams in {} ms",
+                size, postings.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Adds items that are not indexed yet and marks the index ready. Items must arrive in id order.
+     */
+    public void load(Stream<ItemDto> source) {
+        source.forEach(item -> {
+            lock.writeLock().lock();
+            try {
+                if (!ordinals.containsKey(item.id())) {
+                    put(item);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        ready = true;
+    }
+
+    public void registerChange(Item item) {
+        if (!enabled) {
+            return;
+        }
+        ItemDto snapshot = ItemMapper.toItemDto(item);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lock.writeLock().lock();
+                try {
+                    put(snapshot);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    public ItemSearchPageDto search(String text, int from, int size) {
+        String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            int[] candidates;
+            int count;
+            if (query.length() < GRAM_LENGTH) {
+                candidates = null;
+                count = this.size;
+            } else {
+                candidates = candidates(query);
+                count = candidates.length;
+            }
+
+            // Ordinals follow the order items were indexed in, not their ids, so the hits with the lowest ids up
+            // to the end of the requested page are kept in bounded heaps and the rest are just counted.
+            int wanted = (int) Math.min(count, (long) from + size);
+            PriorityQueue<Integer> nameHits = new PriorityQueue<>(byId().reversed());
+            PriorityQueue<Integer> descriptionHits = new PriorityQueue<>(byId().reversed());
+            int nameCount = 0;
+            int descriptionCount = 0;
+            for (int i = 0; i < count; i++) {
+                int doc = candidates == null ? i : candidates[i];
+                if (!available.get(doc)) {
+                    continue;
+                }
+                if (names[doc].contains(query)) {
+                    keepLowestIds(nameHits, doc, wanted);
+                    nameCount++;
+                } else if (descriptions[doc].contains(query)) {
+                    keepLowestIds(descriptionHits, doc, wanted);
+                    descriptionCount++;
+                }
+            }
+
+            int total = nameCount + descriptionCount;
+            List<ItemDto> page = Stream.concat(nameHits.stream().sorted(byId()), descriptionHits.stream().sorted(byId()))
+                    .skip(from)
+                    .limit(size)
+                    .map(doc -> items[doc])
+                    .toList();
+            return new ItemSearchPageDto(page, total, true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Comparator<Integer> byId() {
+        return Comparator.comparingLong(doc -> items[doc].id());
+    }
+
+    private void keepLowestIds(PriorityQueue<Integer> hits, int doc, int limit) {
+        if (hits.size() < limit) {
+            hits.add(doc);
+        } else if (limit > 0 && items[doc].id() < items[hits.peek()].id()) {
+            hits.poll();
+            hits.add(doc);
+        }
+    }
+
+    private int[] candidates(String query) {
+        List<PostingList> lists = new ArrayList<>();
+        for (long gram : grams(query, new HashSet<>())) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        int[] result = lists.get(0).toArray();
+        int count = result.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            count = lists.get(i).retainAll(result, count);
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void put(ItemDto item) {
+        String name = normalize(item.name());
+        String description = normalize(item.description());
+        Set<Long> grams = grams(description, grams(name, new HashSet<>()));
+
+        Integer existing = ordinals.get(item.id());
+        int doc;
+        if (existing == null) {
+            doc = size++;
+            ensureCapacity();
+            ordinals.put(item.id(), doc);
+        } else {
+            doc = existing;
+            Set<Long> previous = grams(descriptions[doc], grams(names[doc], new HashSet<>()));
+            previous.removeAll(grams);
+            for (long gram : previous) {
+                PostingList list = postings.get(gram);
+                list.remove(doc);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        for (long gram : grams) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(doc);
+        }
+        items[doc] = item;
+        names[doc] = name;
+        descriptions[doc] = description;
+        available.set(doc, Boolean.TRUE.equals(item.available()));
+    }
+
+    private void ensureCapacity() {
+        if (size > items.length) {
+            int capacity = items.length * 2;
+            items = Arrays.copyOf(items, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> grams(String text, Set<Long> target) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            target.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return target;
+    }
+}
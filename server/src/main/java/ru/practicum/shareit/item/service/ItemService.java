@@ -1,22 +1,32 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+import ru.practicum.shareit.item.model.ItemImportFormat;
 
+import java.io.Reader;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
 
     ItemDto createItem(Long userId, ItemDto itemDto);
 
+    ItemImportResultDto importItems(Long userId, ItemImportFormat format, Reader body);
+
     ItemDto updateItem(Long userId, Long itemId, ItemDto itemDto);
 
     ItemResponseDto getItemById(Long userId, Long itemId);
 
     List<ItemResponseDto> getUserItems(Long userId);
 
-    List<ItemDto> searchItems(String text);
+    ItemSearchPageDto searchItems(String text, int from, int size);
 
     CommentDto addComment(Long userId, Long itemId, String text);
+
+    ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -2,43 +2,64 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.dto.ItemBookingSlot;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.LastAndNextBookings;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingTimelineIndex;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentRow;
+import ru.practicum.shareit.item.model.ItemImportFormat;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.io.Reader;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int TOTAL_HITS_LIMIT = 1000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
+    private final BookingTimelineIndex bookingTimelineIndex;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemImporter itemImporter;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     @Transactional
@@ -48,7 +69,16 @@ public class ItemServiceImpl implements ItemService {
         Item item = ItemMapper.toItem(itemDto,
                 userRepository.findById(userId).orElseThrow(),
                 itemDto.requestId() != null ? requestRepository.findById(itemDto.requestId()).get() : null);
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        itemSearchIndex.registerChange(saved);
+        return ItemMapper.toItemDto(saved);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ItemImportResultDto importItems(Long userId, ItemImportFormat format, Reader body) {
+        checkUserExists(userId);
+        return itemImporter.importItems(userId, format, body);
     }
 
     @Override
@@ -70,29 +100,33 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemDto.available());
         }
 
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        itemSearchIndex.registerChange(saved);
+        return ItemMapper.toItemDto(saved);
     }
 
     @Override
     public ItemResponseDto getItemById(Long userId, Long itemId) {
-        Item item = checkItemExists(itemId);
-
-        BookingShortDto lastBooking = bookingRepository.findLastBooking(itemId)
-                .filter(booking -> booking.getItem().getOwner().getId().equals(userId))
-                .map(BookingMapper::toBookingShortDto)
-                .orElse(null);
-
-        BookingShortDto nextBooking = bookingRepository.findNextBooking(itemId)
-                .filter(booking -> booking.getItem().getOwner().getId().equals(userId))
-                .map(BookingMapper::toBookingShortDto)
-                .orElse(null);
+        List<ItemCommentRow> rows = itemRepository.findWithComments(itemId);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Item not found: " + itemId);
+        }
+        Item item = rows.getFirst().item();
 
-        List<CommentDto> comments = commentRepository.findByItemId(itemId)
-                .stream()
+        List<CommentDto> comments = rows.stream()
+                .filter(row -> row.commentId() != null)
                 .map(CommentMapper::toCommentDto)
                 .toList();
 
-        return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, comments);
+        if (!item.getOwner().getId().equals(userId)) {
+            return ItemMapper.toItemResponseDto(item, null, null, comments);
+        }
+
+        LastAndNextBookings bookings = bookingRepository.findLastAndNextBookings(itemId);
+        return ItemMapper.toItemResponseDto(item,
+                toBookingShortDto(bookings.last()),
+                toBookingShortDto(bookings.next()),
+                comments);
     }
 
     @Override
@@ -104,49 +138,50 @@ public class ItemServiceImpl implements ItemService {
                 .map(Item::getId)
                 .toList();
 
-        List<Booking> bookings = bookingRepository.findAllByItemIdInAndStatus(itemIds, Booking.BookingStatus.APPROVED);
-        List<Comment> comments = commentRepository.findAllByItemIdIn(itemIds);
+        Map<Long, BookingShortDto> lastBookings = new HashMap<>();
+        Map<Long, BookingShortDto> nextBookings = new HashMap<>();
+        for (ItemBookingSlot slot : bookingRepository.findLastAndNextBookingsByOwner(userId, LocalDateTime.now())) {
+            (slot.last() ? lastBookings : nextBookings).put(slot.itemId(), BookingMapper.toBookingShortDto(slot));
+        }
 
-        Map<Long, List<Booking>> bookingsByItem = bookings.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
-        Map<Long, List<Comment>> commentsByItem = comments.stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        Map<Long, List<CommentDto>> commentsByItem = commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
 
         return items.stream()
-                .map(item -> {
-                    List<Booking> itemBookings = bookingsByItem.getOrDefault(item.getId(), List.of());
-                    List<Comment> itemComments = commentsByItem.getOrDefault(item.getId(), List.of());
-
-                    BookingShortDto lastBooking = itemBookings.stream()
-                            .filter(booking -> booking.getEnd().isBefore(LocalDateTime.now()))
-                            .max(Comparator.comparing(Booking::getEnd))
-                            .map(BookingMapper::toBookingShortDto)
-                            .orElse(null);
-
-                    BookingShortDto nextBooking = itemBookings.stream()
-                            .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                            .min(Comparator.comparing(Booking::getStart))
-                            .map(BookingMapper::toBookingShortDto)
-                            .orElse(null);
-
-                    List<CommentDto> commentsDto = itemComments.stream()
-                            .map(CommentMapper::toCommentDto)
-                            .toList();
-
-                    return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, commentsDto);
-                })
+                .map(item -> ItemMapper.toItemResponseDto(item,
+                        lastBookings.get(item.getId()),
+                        nextBookings.get(item.getId()),
+                        commentsByItem.getOrDefault(item.getId(), List.of())))
                 .toList();
     }
 
     @Override
-    public List<ItemDto> searchItems(String text) {
-        if (text.isBlank()) {
-            return List.of();
+    public ItemSearchPageDto searchItems(String rawText, int from, int size) {
+        String text = normalizeSearchText(rawText);
+        if (text.isEmpty()) {
+            return new ItemSearchPageDto(List.of(), 0, true);
         }
-        return itemRepository.search(text)
-                .stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+        if (from < 0 || size <= 0) {
+            throw new ValidationException("Invalid page: from=" + from + ", size=" + size);
+        }
+
+        int limit = Math.min(size, MAX_SEARCH_PAGE_SIZE);
+        if (itemSearchIndex.isReady()) {
+            return itemSearchIndex.search(text, from, limit);
+        }
+
+        List<ItemDto> items;
+        try (Stream<Item> found = itemRepository.search(text, from, limit)) {
+            items = found.map(ItemMapper::toItemDto).toList();
+        }
+
+        if (items.size() < limit && (from == 0 || !items.isEmpty())) {
+            return new ItemSearchPageDto(items, from + items.size(), true);
+        }
+        long totalHits = itemRepository.countMatches(text, TOTAL_HITS_LIMIT);
+        return new ItemSearchPageDto(items, totalHits, totalHits < TOTAL_HITS_LIMIT);
     }
 
     @Override
@@ -169,6 +204,32 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentDto(commentRepository.save(comment));
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ItemAvailabilityDto getItemAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Invalid availability range");
+        }
+
+        if (bookingTimelineIndex.isLoaded(itemId)) {
+            return bookingTimelineIndex.getAvailability(itemId, from, to);
+        }
+
+        // Only a miss reads the database, in a transaction that gets the request deadline as its timeout.
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            if (!itemRepository.existsById(itemId)) {
+                throw new NotFoundException("Item not found: " + itemId);
+            }
+            return bookingTimelineIndex.getAvailability(itemId, from, to);
+        });
+    }
+
+    private static BookingShortDto toBookingShortDto(Booking booking) {
+        return booking != null ? BookingMapper.toBookingShortDto(booking) : null;
+    }
+
     private User checkUserExists(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User not found: " + userId));
@@ -178,4 +239,12 @@ public class ItemServiceImpl implements ItemService {
         return itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found: " + itemId));
     }
-}
\ No newline at end of file
+
+    /**
+     * Trims the text and collapses runs of whitespace to a single space, so queries that differ only in spacing
+     * match the same items. The gateway keys its search cache on the same form.
+     */
+    private static String normalizeSearchText(String text) {
+        return WHITESPACE.matcher(text.strip()).replaceAll(" ");
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads one item per line as a JSON object, skipping blank lines. Lines longer than {@code maxLineLength} are
+ * rejected without being held in memory.
+ */
+final class NdjsonItemRowReader implements ItemRowReader {
+    private static final int END_OF_INPUT = -1;
+    private static final int TOO_LONG = 0;
+    private static final int READ = 1;
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final int maxLineLength;
+    private final StringBuilder text = new StringBuilder();
+    private long line;
+
+    NdjsonItemRowReader(BufferedReader reader, ObjectMapper objectMapper, int maxLineLength) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public ItemImportRow next() throws IOException {
+        int result;
+        do {
+            result = readLine();
+            if (result == END_OF_INPUT) {
+                return null;
+            }
+            line++;
+        } while (result == READ && text.toString().isBlank());
+
+        if (result == TOO_LONG) {
+            return ItemImportRow.rejected(line, "Line longer than " + maxLineLength + " characters");
+        }
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text.toString());
+        } catch (JsonProcessingException e) {
+            return ItemImportRow.rejected(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            return ItemImportRow.rejected(line, "Expected a JSON object");
+        }
+        ItemDto item;
+        try {
+            item = objectMapper.treeToValue(node, ItemDto.class);
+        } catch (JsonProcessingException e) {
+            return ItemImportRow.rejected(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        // Ids and owners are not the caller's to choose: a row always creates a new item of the importing user.
+        return ItemImportRow.of(line, new ItemDto(null, item.name(), item.description(), item.available(), null,
+                item.requestId()));
+    }
+
+    /**
+     * Reads up to the end of the line into {@code text}, dropping the characters past the limit.
+     */
+    private int readLine() throws IOException {
+        text.setLength(0);
+        int c = reader.read();
+        if (c < 0) {
+            return END_OF_INPUT;
+        }
+        boolean fits = true;
+        for (; c >= 0 && c != '\n'; c = reader.read()) {
+            if (text.length() < maxLineLength) {
+                text.append((char) c);
+            } else if (c != '\r') {
+                fits = false;
+            }
+        }
+        if (fits && !text.isEmpty() && text.charAt(text.length() - 1) == '\r') {
+            text.setLength(text.length() - 1);
+        }
+        return fits ? READ : TOO_LONG;
+    }
+}
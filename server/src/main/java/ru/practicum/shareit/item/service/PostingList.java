@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.service;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free list of document ordinals backed by a primitive array.
+ */
+final class PostingList {
+    private int[] docs = new int[4];
+    private int size;
+
+    void add(int doc) {
+        if (size == 0 || docs[size - 1] < doc) {
+            ensureCapacity();
+            docs[size++] = doc;
+            return;
+        }
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        if (index >= 0) {
+            return;
+        }
+        int insertAt = -index - 1;
+        ensureCapacity();
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        size++;
+    }
+
+    void remove(int doc) {
+        int index = Arrays.binarySearch(docs, 0, size, doc);
+        if (index >= 0) {
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            size--;
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(docs, size);
+    }
+
+    /**
+     * Keeps in the first {@code count} elements of sorted {@code candidates} only the ordinals present in this
+     * list and returns how many remain.
+     */
+    int retainAll(int[] candidates, int count) {
+        int kept = 0;
+        int position = 0;
+        for (int i = 0; i < count && position < size; i++) {
+            int candidate = candidates[i];
+            while (position < size && docs[position] < candidate) {
+                position++;
+            }
+            if (position < size && docs[position] == candidate) {
+                candidates[kept++] = candidate;
+            }
+        }
+        return kept;
+    }
+
+    private void ensureCapacity() {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+        }
+    }
+}
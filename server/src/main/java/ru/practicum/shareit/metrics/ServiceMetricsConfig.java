@@ -0,0 +1,58 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+@Configuration
+public class ServiceMetricsConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor bookingServiceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return serviceAdvisor(BookingService.class, meterRegistry);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor itemServiceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return serviceAdvisor(ItemService.class, meterRegistry);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor itemRequestServiceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return serviceAdvisor(ItemRequestService.class, meterRegistry);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor userServiceMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return serviceAdvisor(UserService.class, meterRegistry);
+    }
+
+    private static Advisor serviceAdvisor(Class<?> service, ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return service.isAssignableFrom(targetClass) && Arrays.stream(service.getMethods())
+                        .anyMatch(declared -> declared.getName().equals(method.getName())
+                                && Arrays.equals(declared.getParameterTypes(), method.getParameterTypes()));
+            }
+        };
+        return new DefaultPointcutAdvisor(pointcut, new ServiceMetricsInterceptor(meterRegistry, service));
+    }
+}
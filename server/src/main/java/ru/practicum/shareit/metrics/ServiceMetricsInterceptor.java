@@ -0,0 +1,60 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import ru.practicum.shareit.booking.model.BookingState;
+
+/**
+ * Records every service call in the {@value #METRIC} timer, tagged by service, method, outcome, exception and,
+ * for booking listings, the requested {@link BookingState}.
+ */
+class ServiceMetricsInterceptor implements MethodInterceptor {
+    static final String METRIC = "shareit.service";
+    private static final String NONE = "none";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Class<?> service;
+
+    ServiceMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, Class<?> service) {
+        this.meterRegistry = meterRegistry;
+        this.service = service;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+        Timer.Sample sample = Timer.start(registry);
+        String exception = NONE;
+        try {
+            return invocation.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .description("Service method latency")
+                    .tag("service", service.getSimpleName())
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("outcome", NONE.equals(exception) ? "success" : "error")
+                    .tag("exception", exception)
+                    .tag("state", state(invocation.getArguments()))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+
+    private static String state(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof BookingState state) {
+                return state.name();
+            }
+        }
+        return NONE;
+    }
+}
@@ -1,10 +1,4 @@
-DROP TABLE IF EXISTS comments;
-DROP TABLE IF EXISTS bookings;
-DROP TABLE IF EXISTS items;
-DROP TABLE IF EXISTS requests;
-DROP TABLE IF EXISTS users;
-
-CREATE TABLE IF NOT EXISTS users (
+CREATE TABLE users (
     users_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     users_name VARCHAR(255) NOT NULL,
     users_email VARCHAR(512) NOT NULL,
@@ -12,7 +6,7 @@ CREATE TABLE IF NOT EXISTS users (
     CONSTRAINT uq_users_email UNIQUE (users_email)
 );
 
-CREATE TABLE IF NOT EXISTS requests (
+CREATE TABLE requests (
     requests_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     requests_description TEXT NOT NULL,
     requests_requestor_id BIGINT NOT NULL,
@@ -21,7 +15,7 @@ CREATE TABLE IF NOT EXISTS requests (
     CONSTRAINT fk_requests_requestor FOREIGN KEY (requests_requestor_id) REFERENCES users(users_id) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS items (
+CREATE TABLE items (
     items_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     items_name VARCHAR(255) NOT NULL,
     items_description TEXT,
@@ -33,7 +27,7 @@ CREATE TABLE IF NOT EXISTS items (
     CONSTRAINT fk_items_request FOREIGN KEY (items_request_id) REFERENCES requests(requests_id) ON DELETE SET NULL
 );
 
-CREATE TABLE IF NOT EXISTS bookings (
+CREATE TABLE bookings (
     bookings_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     bookings_start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     bookings_end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -45,7 +39,7 @@ CREATE TABLE IF NOT EXISTS bookings (
     CONSTRAINT fk_bookings_booker FOREIGN KEY (bookings_booker_id) REFERENCES users(users_id) ON DELETE CASCADE
 );
 
-CREATE TABLE IF NOT EXISTS comments (
+CREATE TABLE comments (
     comments_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     comments_text TEXT NOT NULL,
     comments_item_id BIGINT NOT NULL,
@@ -0,0 +1,12 @@
+CREATE INDEX idx_bookings_booker_start ON bookings (bookings_booker_id, bookings_start_date DESC, bookings_id DESC);
+CREATE INDEX idx_bookings_booker_status_start ON bookings (bookings_booker_id, bookings_status, bookings_start_date DESC, bookings_id DESC);
+CREATE INDEX idx_bookings_item_start ON bookings (bookings_item_id, bookings_start_date DESC, bookings_id DESC);
+CREATE INDEX idx_bookings_item_status_start ON bookings (bookings_item_id, bookings_status, bookings_start_date);
+CREATE INDEX idx_bookings_item_status_end ON bookings (bookings_item_id, bookings_status, bookings_end_date);
+
+CREATE INDEX idx_items_owner ON items (items_owner_id);
+CREATE INDEX idx_items_request ON items (items_request_id);
+
+CREATE INDEX idx_comments_item ON comments (comments_item_id);
+
+CREATE INDEX idx_requests_requestor_created ON requests (requests_requestor_id, requests_created DESC);
@@ -0,0 +1,18 @@
+-- Ids come from sequences that hand out blocks of 50, matching the allocation size of the entities, so that
+-- Hibernate can batch inserts instead of reading back an identity after every row.
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE users ALTER COLUMN users_id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN users_id SET DEFAULT nextval('users_seq');
+ALTER TABLE requests ALTER COLUMN requests_id DROP IDENTITY;
+ALTER TABLE requests ALTER COLUMN requests_id SET DEFAULT nextval('requests_seq');
+ALTER TABLE items ALTER COLUMN items_id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN items_id SET DEFAULT nextval('items_seq');
+ALTER TABLE bookings ALTER COLUMN bookings_id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN bookings_id SET DEFAULT nextval('bookings_seq');
+ALTER TABLE comments ALTER COLUMN comments_id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN comments_id SET DEFAULT nextval('comments_seq');
@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period EXCLUDE USING gist (
+    bookings_item_id WITH =,
+    tsrange(bookings_start_date, bookings_end_date) WITH &&
+) WHERE (bookings_status = 'APPROVED');
@@ -0,0 +1,6 @@
+-- Move the sequences created in V5 past the rows already there. A block ends at the value the sequence returns.
+SELECT setval('users_seq', (SELECT COALESCE(MAX(users_id), 0) + 50 FROM users), false);
+SELECT setval('requests_seq', (SELECT COALESCE(MAX(requests_id), 0) + 50 FROM requests), false);
+SELECT setval('items_seq', (SELECT COALESCE(MAX(items_id), 0) + 50 FROM items), false);
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(bookings_id), 0) + 50 FROM bookings), false);
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(comments_id), 0) + 50 FROM comments), false);
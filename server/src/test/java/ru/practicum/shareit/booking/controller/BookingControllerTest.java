@@ -11,6 +11,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
@@ -151,4 +152,35 @@ class BookingControllerTest {
 
         verify(bookingService, times(1)).getOwnerBookings(1L, BookingState.ALL, 0, 10);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserBookings_WithCursor_ShouldReturnNextCursorHeader() throws Exception {
+        when(bookingService.getUserBookingsPage(1L, BookingState.ALL, "", 10))
+                .thenReturn(new BookingPageDto(List.of(bookingResponse), "next"));
+
+        mockMvc.perform(get("/bookings")
+                        .header(REQUEST_HEADER, "1")
+                        .param("cursor", "")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$.size()").value(1));
+
+        verify(bookingService, never()).getUserBookings(anyLong(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getOwnerBookings_WithCursor_LastPage_ShouldOmitNextCursorHeader() throws Exception {
+        when(bookingService.getOwnerBookingsPage(1L, BookingState.WAITING, "abc", 5))
+                .thenReturn(new BookingPageDto(List.of(bookingResponse), null));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(REQUEST_HEADER, "1")
+                        .param("state", "waiting")
+                        .param("cursor", "abc")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.size()").value(1));
+    }
+}
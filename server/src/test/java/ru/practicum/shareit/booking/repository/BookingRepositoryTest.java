@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import ru.practicum.shareit.booking.dto.ItemBookingSlot;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.LastAndNextBookings;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:booking-repository")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingRepositoryTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User booker;
+    private User owner;
+    private Item item;
+    private final List<Long> expectedOrder = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = em.persist(new User(null, "Owner", "owner@example.com"));
+        booker = em.persist(new User(null, "Booker", "booker@example.com"));
+        item = em.persist(new Item(null, "Drill", "Powerful drill", true, owner, null));
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            LocalDateTime start = BASE.plusDays(i / 2);
+            bookings.add(em.persist(new Booking(null, start, start.plusHours(1), item, booker, Booking.BookingStatus.WAITING)));
+        }
+        em.flush();
+
+        bookings.sort((a, b) -> a.getStart().equals(b.getStart())
+                ? b.getId().compareTo(a.getId())
+                : b.getStart().compareTo(a.getStart()));
+        bookings.forEach(booking -> expectedOrder.add(booking.getId()));
+    }
+
+    @Test
+    void keysetScroll_ShouldVisitEveryBookingOnceInStartOrder() {
+        List<Long> visited = new ArrayList<>();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Booking> page;
+        do {
+            page = bookingRepository.findByBookerIdOrderByStartDescIdDesc(booker.getId(), position, Limit.of(3));
+            page.forEach(booking -> visited.add(booking.getId()));
+            if (!page.isEmpty()) {
+                position = page.positionAt(page.size() - 1);
+            }
+        } while (page.hasNext());
+
+        assertThat(visited).containsExactlyElementsOf(expectedOrder);
+    }
+
+    @Test
+    void keysetScroll_ShouldWorkForOwnerQueries() {
+        Window<Booking> first = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                owner.getId(), Booking.BookingStatus.WAITING, ScrollPosition.keyset(), Limit.of(4));
+        Window<Booking> second = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(
+                owner.getId(), Booking.BookingStatus.WAITING, first.positionAt(first.size() - 1), Limit.of(4));
+
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.hasNext()).isFalse();
+        assertThat(first.map(Booking::getId).getContent()).containsExactlyElementsOf(expectedOrder.subList(0, 4));
+        assertThat(second.map(Booking::getId).getContent()).containsExactlyElementsOf(expectedOrder.subList(4, 7));
+    }
+
+    @Test
+    void offsetScroll_ShouldStartAtArbitraryOffset() {
+        Window<Booking> page = bookingRepository.findByBookerIdOrderByStartDescIdDesc(
+                booker.getId(), ScrollPosition.offset(2), Limit.of(2));
+
+        assertThat(page.map(Booking::getId).getContent()).containsExactlyElementsOf(expectedOrder.subList(3, 5));
+    }
+
+    @Test
+    void lastAndNextBookings_TiedBookings_ShouldPickTheLowerIdOnBothPaths() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking firstLast = approved(now.minusDays(3), now.minusDays(1));
+        approved(now.minusDays(2), now.minusDays(1));
+        Booking firstNext = approved(now.plusDays(1), now.plusDays(2));
+        approved(now.plusDays(1), now.plusDays(3));
+        em.flush();
+        em.clear();
+
+        LastAndNextBookings single = bookingRepository.findLastAndNextBookings(item.getId());
+        List<ItemBookingSlot> byOwner = bookingRepository.findLastAndNextBookingsByOwner(owner.getId(), now);
+
+        assertThat(single.last().getId()).isEqualTo(firstLast.getId());
+        assertThat(single.next().getId()).isEqualTo(firstNext.getId());
+        assertThat(byOwner).extracting(ItemBookingSlot::id)
+                .containsExactlyInAnyOrder(firstLast.getId(), firstNext.getId());
+    }
+
+    private Booking approved(LocalDateTime start, LocalDateTime end) {
+        return em.persist(new Booking(null, start, end, item, booker, Booking.BookingStatus.APPROVED));
+    }
+}
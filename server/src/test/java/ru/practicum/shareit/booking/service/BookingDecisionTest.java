@@ -0,0 +1,179 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionRequestDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingDecisionOutcome;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-decision",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+class BookingDecisionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User booker;
+    private Item drill;
+    private Item saw;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", UUID.randomUUID() + "@decision.test"));
+        booker = userRepository.save(new User(null, "Booker", UUID.randomUUID() + "@decision.test"));
+        drill = itemRepository.save(new Item(null, "Drill", "Cordless", true, owner, null));
+        saw = itemRepository.save(new Item(null, "Saw", "Sharp", true, owner, null));
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void decideBookings_Approve_ShouldReportOutcomePerBookingInRequestOrder() throws Exception {
+        User other = userRepository.save(new User(null, "Other", UUID.randomUUID() + "@decision.test"));
+        Item otherItem = itemRepository.save(new Item(null, "Canoe", "Red", true, other, null));
+        book(drill, 0, 2, Booking.BookingStatus.APPROVED);
+        Booking overlapsApproved = book(drill, 1, 3, Booking.BookingStatus.WAITING);
+        Booking first = book(drill, 4, 6, Booking.BookingStatus.WAITING);
+        Booking overlapsFirst = book(drill, 5, 7, Booking.BookingStatus.WAITING);
+        Booking onOtherItem = book(saw, 5, 7, Booking.BookingStatus.WAITING);
+        Booking rejected = book(saw, 8, 9, Booking.BookingStatus.REJECTED);
+        Booking notOwned = book(otherItem, 1, 2, Booking.BookingStatus.WAITING);
+
+        mockMvc.perform(patch("/bookings/owner")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("approved", "true")
+                        .contentType("application/json")
+                        .content("{\"bookingIds\": [" + first.getId() + ", " + overlapsApproved.getId() + ", "
+                                + overlapsFirst.getId() + ", " + onOtherItem.getId() + ", " + rejected.getId() + ", "
+                                + notOwned.getId() + ", -1, " + first.getId() + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(7))
+                .andExpect(jsonPath("$[0].bookingId").value(first.getId()))
+                .andExpect(jsonPath("$[0].outcome").value("APPROVED"))
+                .andExpect(jsonPath("$[1].outcome").value("CONFLICT"))
+                .andExpect(jsonPath("$[2].outcome").value("CONFLICT"))
+                .andExpect(jsonPath("$[3].outcome").value("APPROVED"))
+                .andExpect(jsonPath("$[4].outcome").value("ALREADY_DECIDED"))
+                .andExpect(jsonPath("$[5].outcome").value("FORBIDDEN"))
+                .andExpect(jsonPath("$[6].bookingId").value(-1))
+                .andExpect(jsonPath("$[6].outcome").value("NOT_FOUND"));
+
+        assertThat(statusOf(first)).isEqualTo(Booking.BookingStatus.APPROVED);
+        assertThat(statusOf(onOtherItem)).isEqualTo(Booking.BookingStatus.APPROVED);
+        assertThat(statusOf(overlapsApproved)).isEqualTo(Booking.BookingStatus.WAITING);
+        assertThat(statusOf(overlapsFirst)).isEqualTo(Booking.BookingStatus.WAITING);
+        assertThat(statusOf(rejected)).isEqualTo(Booking.BookingStatus.REJECTED);
+        assertThat(statusOf(notOwned)).isEqualTo(Booking.BookingStatus.WAITING);
+    }
+
+    @Test
+    void decideBookings_RejectAllOfItem_ShouldUpdateWaitingBookingsWithOneStatement() {
+        Booking approved = book(drill, 0, 1, Booking.BookingStatus.APPROVED);
+        Booking firstWaiting = book(drill, 2, 3, Booking.BookingStatus.WAITING);
+        Booking secondWaiting = book(drill, 2, 3, Booking.BookingStatus.WAITING);
+        Booking waitingForSaw = book(saw, 2, 3, Booking.BookingStatus.WAITING);
+        Statistics statistics = statistics();
+
+        List<BookingDecisionDto> decisions = bookingService.decideBookings(owner.getId(),
+                new BookingDecisionRequestDto(null, drill.getId()), false);
+
+        assertThat(decisions).containsExactly(
+                new BookingDecisionDto(firstWaiting.getId(), BookingDecisionOutcome.REJECTED),
+                new BookingDecisionDto(secondWaiting.getId(), BookingDecisionOutcome.REJECTED));
+        // The user, the item, the waiting bookings and the update.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statusOf(firstWaiting)).isEqualTo(Booking.BookingStatus.REJECTED);
+        assertThat(statusOf(secondWaiting)).isEqualTo(Booking.BookingStatus.REJECTED);
+        assertThat(statusOf(approved)).isEqualTo(Booking.BookingStatus.APPROVED);
+        assertThat(statusOf(waitingForSaw)).isEqualTo(Booking.BookingStatus.WAITING);
+    }
+
+    @Test
+    void approveBooking_AfterBulkRejection_ShouldLeaveBookingRejected() throws Exception {
+        Booking waiting = book(drill, 2, 3, Booking.BookingStatus.WAITING);
+        bookingService.decideBookings(owner.getId(), new BookingDecisionRequestDto(List.of(waiting.getId()), null), false);
+
+        mockMvc.perform(patch("/bookings/" + waiting.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isForbidden());
+
+        assertThat(statusOf(waiting)).isEqualTo(Booking.BookingStatus.REJECTED);
+    }
+
+    @Test
+    void decideBookings_ItemOfAnotherOwner_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(patch("/bookings/owner")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("approved", "true")
+                        .contentType("application/json")
+                        .content("{\"itemId\": " + drill.getId() + "}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void decideBookings_BothIdsAndItem_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/bookings/owner")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("approved", "false")
+                        .contentType("application/json")
+                        .content("{\"bookingIds\": [1], \"itemId\": " + drill.getId() + "}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Booking book(Item item, int fromDay, int toDay, Booking.BookingStatus status) {
+        return bookingRepository.save(new Booking(null, start.plusDays(fromDay), start.plusDays(toDay), item,
+                booker, status));
+    }
+
+    private Booking.BookingStatus statusOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-concurrency",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"
+})
+class BookingServiceConcurrencyTest {
+    private static final int ITEMS = 20;
+    private static final int BOOKERS = 10;
+    private static final int REQUESTS = 2000;
+    private static final int THREADS = 32;
+    private static final int CALENDAR_DAYS = 60;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void concurrentCreateAndApprove_ShouldNeverDoubleBookItem() throws Exception {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", "owner@concurrency.test"));
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds.add(itemService.createItem(owner.id(),
+                    new ItemDto(null, "Item " + i, "Stress item", true, owner.id(), null)).id());
+        }
+        List<Long> bookerIds = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookerIds.add(userService.createUser(new UserDto(null, "Booker " + i, "booker" + i + "@concurrency.test")).id());
+        }
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Long itemId = itemIds.get(random.nextInt(ITEMS));
+                Long bookerId = bookerIds.get(random.nextInt(BOOKERS));
+                LocalDateTime start = base.plusDays(random.nextInt(CALENDAR_DAYS));
+                LocalDateTime end = start.plusDays(1 + random.nextInt(3));
+                try {
+                    BookingResponseDto created = bookingService.createBooking(bookerId,
+                            new BookingDto(null, start, end, itemId));
+                    bookingService.approveBooking(owner.id(), created.id(), true);
+                    approved.incrementAndGet();
+                } catch (ConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        log.info("Booking stress: {} requests on {} threads in {} ms ({} ops/s), approved={}, conflicts={}",
+                REQUESTS, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.0f", REQUESTS * 1e9 / elapsedNanos), approved.get(), conflicts.get());
+
+        assertThat(approved.get() + conflicts.get()).isEqualTo(REQUESTS);
+        assertThat(approved.get()).isPositive();
+        assertThat(countDoubleBookings()).isZero();
+    }
+
+    private long countDoubleBookings() {
+        Map<Long, List<Booking>> approvedByItem = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == Booking.BookingStatus.APPROVED)
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        long overlaps = 0;
+        for (List<Booking> bookings : approvedByItem.values()) {
+            bookings.sort(Comparator.comparing(Booking::getStart));
+            for (int i = 1; i < bookings.size(); i++) {
+                if (bookings.get(i).getStart().isBefore(bookings.get(i - 1).getEnd())) {
+                    overlaps++;
+                }
+            }
+        }
+        return overlaps;
+    }
+}
@@ -6,11 +6,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -21,6 +26,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -38,6 +44,12 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ItemLockManager itemLockManager;
+
+    @Mock
+    private BookingTimelineIndex bookingTimelineIndex;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -104,13 +116,64 @@ class BookingServiceImplTest {
     @Test
     void approveBooking_Success() {
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookingRepository.decideWaiting(List.of(booking.getId()), owner.getId(), Booking.BookingStatus.APPROVED))
+                .thenReturn(1);
 
         BookingResponseDto result = bookingService.approveBooking(owner.getId(), booking.getId(), true);
 
         assertThat(result).isNotNull();
         assertThat(result.status()).isEqualTo(Booking.BookingStatus.APPROVED);
-        verify(bookingRepository).save(booking);
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(bookingTimelineIndex).registerApproval(booking);
+    }
+
+    @Test
+    void approveBooking_DecidedConcurrently_ShouldThrowConflictException() {
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.decideWaiting(List.of(booking.getId()), owner.getId(), Booking.BookingStatus.APPROVED))
+                .thenReturn(0);
+
+        assertThatThrownBy(() -> bookingService.approveBooking(owner.getId(), booking.getId(), true))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("already been decided");
+        verifyNoInteractions(bookingTimelineIndex);
+    }
+
+    @Test
+    void createBooking_OverlapsApprovedBooking_ShouldThrowConflictException() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsApprovedOverlap(item.getId(), bookingDto.start(), bookingDto.end())).thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.createBooking(user.getId(), bookingDto))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("already booked");
+        verify(itemLockManager).lockUntilCompletion(item.getId());
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void approveBooking_OverlapsApprovedBooking_ShouldThrowConflictException() {
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.existsApprovedOverlap(item.getId(), booking.getStart(), booking.getEnd())).thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.approveBooking(owner.getId(), booking.getId(), true))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("already booked");
+        assertThat(booking.getStatus()).isEqualTo(Booking.BookingStatus.WAITING);
+    }
+
+    @Test
+    void approveBooking_Reject_ShouldNotCheckOverlap() {
+        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        when(bookingRepository.decideWaiting(List.of(booking.getId()), owner.getId(), Booking.BookingStatus.REJECTED))
+                .thenReturn(1);
+
+        BookingResponseDto result = bookingService.approveBooking(owner.getId(), booking.getId(), false);
+
+        assertThat(result.status()).isEqualTo(Booking.BookingStatus.REJECTED);
+        verifyNoInteractions(itemLockManager, bookingTimelineIndex);
+        verify(bookingRepository, never()).existsApprovedOverlap(any(), any(), any());
     }
 
     @Test
@@ -155,7 +218,8 @@ class BookingServiceImplTest {
     @Test
     void getUserBookings_Success() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdOrderByStartDesc(eq(user.getId()), any())).thenReturn(List.of(booking));
+        when(bookingRepository.findByBookerIdOrderByStartDescIdDesc(eq(user.getId()), any(), any()))
+                .thenReturn(window(booking));
 
         List<BookingResponseDto> result = bookingService.getUserBookings(user.getId(), BookingState.ALL, 0, 10);
 
@@ -166,7 +230,8 @@ class BookingServiceImplTest {
     @Test
     void getOwnerBookings_Success() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerIdOrderByStartDesc(eq(owner.getId()), any())).thenReturn(List.of(booking));
+        when(bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(eq(owner.getId()), any(), any()))
+                .thenReturn(window(booking));
 
         List<BookingResponseDto> result = bookingService.getOwnerBookings(owner.getId(), BookingState.ALL, 0, 10);
 
@@ -214,8 +279,8 @@ class BookingServiceImplTest {
     @Test
     void getUserBookings_Current() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(user.getId()), any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any(), any()))
+                .thenReturn(window(booking));
 
         List<BookingResponseDto> result = bookingService.getUserBookings(user.getId(), BookingState.CURRENT, 0, 10);
 
@@ -226,8 +291,8 @@ class BookingServiceImplTest {
     @Test
     void getUserBookings_Past() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any()))
+                .thenReturn(window(booking));
 
         List<BookingResponseDto> result = bookingService.getUserBookings(user.getId(), BookingState.PAST, 0, 10);
 
@@ -237,8 +302,8 @@ class BookingServiceImplTest {
     @Test
     void getUserBookings_Future() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(eq(user.getId()), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc(eq(user.getId()), any(), any(), any()))
+                .thenReturn(window(booking));
 
         List<BookingResponseDto> result = bookingService.getUserBookings(user.getId(), BookingState.FUTURE, 0, 10);
 
@@ -248,8 +313,8 @@ class BookingServiceImplTest {
     @Test
     void getUserBookings_Waiting() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(eq(user.getId()), eq(Booking.BookingStatus.WAITING), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(eq(user.getId()), eq(Booking.BookingStatus.WAITING), any(), any()))
+                .thenReturn(window(booking));
 
         List<BookingResponseDto> result = bookingService.getUserBookings(user.getId(), BookingState.WAITING, 0, 10);
 
@@ -259,8 +324,8 @@ class BookingServiceImplTest {
     @Test
     void getUserBookings_Rejected() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(eq(user.getId()), eq(Booking.BookingStatus.REJECTED), any()))
-                .thenReturn(List.of());
+        when(bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(eq(user.getId()), eq(Booking.BookingStatus.REJECTED), any(), any()))
+                .thenReturn(window());
 
         List<BookingResponseDto> result = bookingService.getUserBookings(user.getId(), BookingState.REJECTED, 0, 10);
 
@@ -270,8 +335,8 @@ class BookingServiceImplTest {
     @Test
     void getOwnerBookings_Current() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(owner.getId()), any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(eq(owner.getId()), any(), any(), any(), any()))
+                .thenReturn(window(booking));
 
         List<BookingResponseDto> result = bookingService.getOwnerBookings(owner.getId(), BookingState.CURRENT, 0, 10);
 
@@ -281,8 +346,8 @@ class BookingServiceImplTest {
     @Test
     void getOwnerBookings_Past() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(eq(owner.getId()), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(eq(owner.getId()), any(), any(), any()))
+                .thenReturn(window(booking));
 
         List<BookingResponseDto> result = bookingService.getOwnerBookings(owner.getId(), BookingState.PAST, 0, 10);
 
@@ -292,8 +357,8 @@ class BookingServiceImplTest {
     @Test
     void getOwnerBookings_Future() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(eq(owner.getId()), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(eq(owner.getId()), any(), any(), any()))
+                .thenReturn(window(booking));
 
         List<BookingResponseDto> result = bookingService.getOwnerBookings(owner.getId(), BookingState.FUTURE, 0, 10);
 
@@ -303,8 +368,8 @@ class BookingServiceImplTest {
     @Test
     void getOwnerBookings_Waiting() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(eq(owner.getId()), eq(Booking.BookingStatus.WAITING), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(eq(owner.getId()), eq(Booking.BookingStatus.WAITING), any(), any()))
+                .thenReturn(window(booking));
 
         List<BookingResponseDto> result = bookingService.getOwnerBookings(owner.getId(), BookingState.WAITING, 0, 10);
 
@@ -314,11 +379,57 @@ class BookingServiceImplTest {
     @Test
     void getOwnerBookings_Rejected() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(eq(owner.getId()), eq(Booking.BookingStatus.REJECTED), any()))
-                .thenReturn(List.of());
+        when(bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(eq(owner.getId()), eq(Booking.BookingStatus.REJECTED), any(), any()))
+                .thenReturn(window());
 
         List<BookingResponseDto> result = bookingService.getOwnerBookings(owner.getId(), BookingState.REJECTED, 0, 10);
 
         assertThat(result).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getUserBookings_OffsetNotMultipleOfSize_ShouldStartAtOffset() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findByBookerIdOrderByStartDescIdDesc(eq(user.getId()), any(), any()))
+                .thenReturn(window(booking));
+
+        bookingService.getUserBookings(user.getId(), BookingState.ALL, 3, 2);
+
+        verify(bookingRepository).findByBookerIdOrderByStartDescIdDesc(user.getId(), ScrollPosition.offset(2), Limit.of(2));
+    }
+
+    @Test
+    void getUserBookingsPage_ShouldReturnCursorOfLastBooking() {
+        Booking next = new Booking(2L, booking.getStart().minusDays(1), booking.getEnd(), item, user, Booking.BookingStatus.WAITING);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findByBookerIdOrderByStartDescIdDesc(user.getId(), ScrollPosition.keyset(), Limit.of(1)))
+                .thenReturn(Window.from(List.of(booking), index -> keyset(booking), true));
+        when(bookingRepository.findByBookerIdOrderByStartDescIdDesc(eq(user.getId()), eq(keyset(booking)), eq(Limit.of(1))))
+                .thenReturn(Window.from(List.of(next), index -> keyset(next), false));
+
+        BookingPageDto first = bookingService.getUserBookingsPage(user.getId(), BookingState.ALL, null, 1);
+        BookingPageDto second = bookingService.getUserBookingsPage(user.getId(), BookingState.ALL, first.nextCursor(), 1);
+
+        assertThat(first.bookings()).extracting(BookingResponseDto::id).containsExactly(booking.getId());
+        assertThat(first.nextCursor()).isNotBlank();
+        assertThat(second.bookings()).extracting(BookingResponseDto::id).containsExactly(next.getId());
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void getOwnerBookingsPage_InvalidCursor_ShouldThrowValidationException() {
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+
+        assertThatThrownBy(() -> bookingService.getOwnerBookingsPage(owner.getId(), BookingState.ALL, "not-a-cursor", 10))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    private static Window<Booking> window(Booking... bookings) {
+        return Window.from(List.of(bookings), index -> ScrollPosition.offset(index));
+    }
+
+    private static ScrollPosition keyset(Booking booking) {
+        return ScrollPosition.forward(Map.of("start", booking.getStart(), "id", booking.getId()));
+    }
+}
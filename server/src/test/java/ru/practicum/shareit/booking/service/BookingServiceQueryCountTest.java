@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-query-count",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingServiceQueryCountTest {
+    private static final int PAGE_SIZE = 10;
+    private static final int USER_CHECK_STATEMENTS = 1;
+    private static final int PAGE_STATEMENTS = 1;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User booker;
+    private User owner;
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@query-count.test"));
+        booker = userRepository.save(new User(null, "Booker", "booker@query-count.test"));
+        List<User> otherOwners = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            otherOwners.add(userRepository.save(new User(null, "Other " + i, "other" + i + "@query-count.test")));
+        }
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            items.add(itemRepository.save(new Item(null, "Item " + i, "Description", true, owner, null)));
+            items.add(itemRepository.save(new Item(null, "Other item " + i, "Description", true,
+                    otherOwners.get(i % otherOwners.size()), null)));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking.BookingStatus[] statuses = Booking.BookingStatus.values();
+        for (int i = 0; i < items.size(); i++) {
+            LocalDateTime start = now.plusDays(i % 3 - 1).minusHours(2);
+            bookingRepository.save(new Booking(null, start, start.plusDays(1), items.get(i), booker,
+                    statuses[i % 3 == 1 ? i % statuses.length : 0]));
+            bookingRepository.save(new Booking(null, start.minusDays(3), start.minusDays(2), items.get(i), booker,
+                    Booking.BookingStatus.REJECTED));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void getUserBookings_ShouldUseSingleStatementPerPage(BookingState state) {
+        Statistics statistics = statistics();
+
+        List<BookingResponseDto> bookings = bookingService.getUserBookings(booker.getId(), state, 0, PAGE_SIZE);
+
+        assertThat(bookings).isNotEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(USER_CHECK_STATEMENTS + PAGE_STATEMENTS);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void getOwnerBookings_ShouldUseSingleStatementPerPage(BookingState state) {
+        Statistics statistics = statistics();
+
+        List<BookingResponseDto> bookings = bookingService.getOwnerBookings(owner.getId(), state, 0, PAGE_SIZE);
+
+        assertThat(bookings).isNotEmpty();
+        assertThat(bookings).allSatisfy(booking -> assertThat(booking.item().ownerId()).isEqualTo(owner.getId()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(USER_CHECK_STATEMENTS + PAGE_STATEMENTS);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void getUserBookingsPage_ShouldUseSingleStatementPerPage(BookingState state) {
+        Statistics statistics = statistics();
+
+        bookingService.getUserBookingsPage(booker.getId(), state, "", 2);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(USER_CHECK_STATEMENTS + PAGE_STATEMENTS);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,172 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.TimeWindowDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingTimelineIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingTimelineIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingTimelineIndex(bookingRepository, 2);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void getAvailability_ShouldSplitRangeIntoBusyAndFreeWindows() {
+        when(bookingRepository.findApprovedPeriods(1L)).thenReturn(List.of(
+                new BookingPeriod(day(2), day(4)),
+                new BookingPeriod(day(6), day(7))));
+
+        ItemAvailabilityDto result = index.getAvailability(1L, day(0), day(10));
+
+        assertThat(result.busy()).containsExactly(window(2, 4), window(6, 7));
+        assertThat(result.free()).containsExactly(window(0, 2), window(4, 6), window(7, 10));
+    }
+
+    @Test
+    void getAvailability_ShouldClipWindowsToRequestedRange() {
+        when(bookingRepository.findApprovedPeriods(1L)).thenReturn(List.of(
+                new BookingPeriod(day(1), day(3)),
+                new BookingPeriod(day(5), day(9))));
+
+        ItemAvailabilityDto result = index.getAvailability(1L, day(2), day(6));
+
+        assertThat(result.busy()).containsExactly(window(2, 3), window(5, 6));
+        assertThat(result.free()).containsExactly(window(3, 5));
+    }
+
+    @Test
+    void getAvailability_ShouldMergeOverlappingPeriods() {
+        when(bookingRepository.findApprovedPeriods(1L)).thenReturn(List.of(
+                new BookingPeriod(day(4), day(6)),
+                new BookingPeriod(day(1), day(3)),
+                new BookingPeriod(day(2), day(5))));
+
+        ItemAvailabilityDto result = index.getAvailability(1L, day(0), day(10));
+
+        assertThat(result.busy()).containsExactly(window(1, 6));
+    }
+
+    @Test
+    void getAvailability_ShouldLoadTimelineOnce() {
+        when(bookingRepository.findApprovedPeriods(1L)).thenReturn(List.of());
+
+        index.getAvailability(1L, day(0), day(10));
+        index.getAvailability(1L, day(5), day(20));
+
+        assertThat(index.isLoaded(1L)).isTrue();
+        verify(bookingRepository, times(1)).findApprovedPeriods(1L);
+    }
+
+    @Test
+    void registerApproval_ShouldUpdateLoadedTimelineAfterCommit() {
+        when(bookingRepository.findApprovedPeriods(1L)).thenReturn(List.of(new BookingPeriod(day(2), day(4))));
+        index.getAvailability(1L, day(0), day(10));
+
+        index.registerApproval(booking(1L, 6, 8));
+        assertThat(index.getAvailability(1L, day(0), day(10)).busy()).containsExactly(window(2, 4));
+
+        commit();
+
+        assertThat(index.getAvailability(1L, day(0), day(10)).busy()).containsExactly(window(2, 4), window(6, 8));
+        verify(bookingRepository, times(1)).findApprovedPeriods(1L);
+    }
+
+    @Test
+    void getAvailability_ApprovalCommittedDuringLoad_ShouldNotCacheTheLoadedTimeline() {
+        when(bookingRepository.findApprovedPeriods(1L))
+                .thenAnswer(invocation -> {
+                    index.registerApproval(booking(1L, 6, 8));
+                    commit();
+                    return List.of(new BookingPeriod(day(2), day(4)));
+                })
+                .thenReturn(List.of(new BookingPeriod(day(2), day(4)), new BookingPeriod(day(6), day(8))));
+
+        assertThat(index.getAvailability(1L, day(0), day(10)).busy()).containsExactly(window(2, 4));
+        assertThat(index.isLoaded(1L)).isFalse();
+
+        assertThat(index.getAvailability(1L, day(0), day(10)).busy()).containsExactly(window(2, 4), window(6, 8));
+        assertThat(index.isLoaded(1L)).isTrue();
+    }
+
+    @Test
+    void registerApproval_ShouldIgnoreAlreadyIndexedPeriod() {
+        when(bookingRepository.findApprovedPeriods(1L)).thenReturn(List.of(new BookingPeriod(day(2), day(4))));
+        index.getAvailability(1L, day(0), day(10));
+
+        index.registerApproval(booking(1L, 2, 4));
+        commit();
+
+        assertThat(index.getAvailability(1L, day(0), day(10)).busy()).containsExactly(window(2, 4));
+    }
+
+    @Test
+    void registerApproval_ShouldSkipItemsThatAreNotLoaded() {
+        index.registerApproval(booking(1L, 2, 4));
+        commit();
+
+        assertThat(index.isLoaded(1L)).isFalse();
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getAvailability_ShouldEvictWhenFull() {
+        when(bookingRepository.findApprovedPeriods(anyLong())).thenReturn(List.of());
+
+        index.getAvailability(1L, day(0), day(1));
+        index.getAvailability(2L, day(0), day(1));
+        index.getAvailability(3L, day(0), day(1));
+
+        assertThat(index.isLoaded(3L)).isTrue();
+        assertThat(index.isLoaded(1L) && index.isLoaded(2L)).isFalse();
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static Booking booking(Long itemId, int startDay, int endDay) {
+        User owner = new User(1L, "Owner", "owner@example.com");
+        Item item = new Item(itemId, "Drill", "Powerful drill", true, owner, null);
+        return new Booking(1L, day(startDay), day(endDay), item, null, Booking.BookingStatus.APPROVED);
+    }
+
+    private static LocalDateTime day(int day) {
+        return BASE.plusDays(day);
+    }
+
+    private static TimeWindowDto window(int startDay, int endDay) {
+        return new TimeWindowDto(day(startDay), day(endDay));
+    }
+}
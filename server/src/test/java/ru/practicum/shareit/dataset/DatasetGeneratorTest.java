@@ -0,0 +1,100 @@
+package ru.practicum.shareit.dataset;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:dataset-generator")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatasetGeneratorTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    void generate_ShouldAppendSkewedConsistentDataAndMoveSequencesPastIt() throws SQLException {
+        // Takes a block of ids from the sequence that the generated rows must not run into.
+        User before = userRepository.save(new User(null, "Before", "before@example.com"));
+        long users = userRepository.count();
+        long items = itemRepository.count();
+        long requests = itemRequestRepository.count();
+        long bookings = bookingRepository.count();
+        long comments = commentRepository.count();
+
+        DatasetSummary summary = DatasetGenerator.generate(dataSource, DatasetSpec.of(50, 2_000, 20, 20_000, 3_000)
+                .withMaxItemsPerOwner(500)
+                .withMaxBookingsPerItem(1_000));
+
+        assertThat(userRepository.count()).isEqualTo(users + 50);
+        assertThat(itemRepository.count()).isEqualTo(items + 2_000);
+        assertThat(itemRequestRepository.count()).isEqualTo(requests + 20);
+        assertThat(bookingRepository.count()).isEqualTo(bookings + 20_000);
+        assertThat(commentRepository.count()).isEqualTo(comments + 3_000);
+
+        // The first user is a power owner, and bookings pile up on a few hot items.
+        assertThat(itemRepository.findAllByOwnerId(summary.firstUserId())).hasSizeGreaterThan(200);
+        assertThat(jdbcTemplate.queryForObject("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM bookings "
+                + "WHERE bookings_id >= ? GROUP BY bookings_item_id)", Long.class, summary.firstBookingId()))
+                .isEqualTo(1_000);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT bookings_start_date, "
+                + "LAG(bookings_end_date) OVER (PARTITION BY bookings_item_id ORDER BY bookings_start_date) "
+                + "previous_end FROM bookings) WHERE previous_end > bookings_start_date", Long.class))
+                .as("overlapping bookings").isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings b "
+                + "JOIN items i ON i.items_id = b.bookings_item_id "
+                + "WHERE i.items_owner_id = b.bookings_booker_id", Long.class))
+                .as("owners booking their own items").isZero();
+
+        assertThat(summary.firstUserId()).isGreaterThan(before.getId() + 1);
+        User after = userRepository.save(new User(null, "After", "after@example.com"));
+        assertThat(after.getId()).isEqualTo(before.getId() + 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT nextval('users_seq')", Long.class))
+                .isGreaterThanOrEqualTo(summary.firstUserId() + 50 + 49);
+    }
+
+    @Test
+    void generate_ShouldSpreadEvenlyWithoutSkew() throws SQLException {
+        DatasetSummary summary = DatasetGenerator.generate(dataSource, DatasetSpec.of(10, 100, 0, 1_000, 0)
+                .withSkew(0));
+
+        assertThat(jdbcTemplate.queryForList("SELECT COUNT(*) FROM items WHERE items_id >= ? "
+                + "GROUP BY items_owner_id", Long.class, summary.firstItemId())).containsOnly(10L);
+        assertThat(jdbcTemplate.queryForList("SELECT COUNT(*) FROM bookings WHERE bookings_id >= ? "
+                + "GROUP BY bookings_item_id", Long.class, summary.firstBookingId())).containsOnly(10L);
+    }
+}
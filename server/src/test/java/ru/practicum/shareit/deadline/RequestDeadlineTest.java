@@ -0,0 +1,179 @@
+package ru.practicum.shareit.deadline;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemImportFormat;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:request-deadline",
+        "shareit.item-import.batch-size=2"
+})
+@AutoConfigureMockMvc
+class RequestDeadlineTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void bindRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void transaction_ShouldTimeOutWithRemainingBudget() {
+        RequestDeadline.start(1_500);
+
+        Long timeToLive = new TransactionTemplate(transactionManager).execute(status -> {
+            EntityManagerHolder holder =
+                    (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+            return holder.hasTimeout() ? holder.getTimeToLiveInMillis() : null;
+        });
+
+        assertThat(timeToLive).isNotNull().isBetween(1L, 2_000L);
+    }
+
+    @Test
+    void transaction_ShouldHaveNoTimeoutWithoutDeadline() {
+        Boolean hasTimeout = new TransactionTemplate(transactionManager).execute(status ->
+                ((EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory)).hasTimeout());
+
+        assertThat(hasTimeout).isFalse();
+    }
+
+    @Test
+    void serviceCall_ShouldNotStartTransactionWhenBudgetIsUsedUp() {
+        RequestDeadline.start(0);
+
+        assertThrows(TransactionTimedOutException.class, () -> userService.getAllUsers());
+    }
+
+    @Test
+    void importItems_ShouldStopBetweenBatchesOnceBudgetIsUsedUp() {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", UUID.randomUUID() + "@deadline.test"));
+        String firstBatch = String.join("\n",
+                "{\"name\": \"Drill\", \"description\": \"Cordless\", \"available\": true}",
+                "{\"name\": \"Saw\", \"description\": \"Sharp\", \"available\": true}", "");
+        String secondBatch = String.join("\n",
+                "{\"name\": \"Tent\", \"description\": \"Large\", \"available\": true}",
+                "{\"name\": \"Kayak\", \"description\": \"Two seats\", \"available\": true}");
+        RequestDeadline.start(200);
+
+        assertThrows(DeadlineExceededException.class, () -> itemService.importItems(owner.id(),
+                ItemImportFormat.NDJSON, pausingReader(firstBatch, 400, secondBatch)));
+
+        assertThat(itemRepository.findAllByOwnerId(owner.id())).extracting(Item::getName)
+                .containsExactlyInAnyOrder("Drill", "Saw");
+    }
+
+    @Test
+    void getItemAvailability_ShouldNotQueryDatabaseWhenBudgetIsUsedUp() {
+        UserDto owner = userService.createUser(new UserDto(null, "Owner", UUID.randomUUID() + "@deadline.test"));
+        ItemDto item = itemService.createItem(owner.id(), new ItemDto(null, "Drill", "Cordless", true, null, null));
+        RequestDeadline.start(0);
+
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        assertThrows(TransactionTimedOutException.class,
+                () -> itemService.getItemAvailability(item.id(), from, from.plusDays(1)));
+    }
+
+    @Test
+    void request_ShouldBeRejectedWhenBudgetIsUsedUp() throws Exception {
+        mockMvc.perform(get("/users").header(RequestDeadline.HEADER, "0"))
+                .andExpect(status().isGatewayTimeout());
+    }
+
+    @Test
+    void request_ShouldBeServedWithinBudget() throws Exception {
+        mockMvc.perform(get("/users").header(RequestDeadline.HEADER, "5000"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void request_ShouldRejectMalformedBudget() throws Exception {
+        mockMvc.perform(get("/users").header(RequestDeadline.HEADER, "soon"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Serves {@code first}, then blocks for {@code pauseMillis} before serving {@code rest}, like a slow upload.
+     */
+    private static Reader pausingReader(String first, long pauseMillis, String rest) {
+        return new Reader() {
+            private Reader current = new StringReader(first);
+            private boolean paused;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                int read = current.read(buffer, offset, length);
+                if (read == -1 && !paused) {
+                    paused = true;
+                    try {
+                        Thread.sleep(pauseMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(e);
+                    }
+                    current = new StringReader(rest);
+                    read = current.read(buffer, offset, length);
+                }
+                return read;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
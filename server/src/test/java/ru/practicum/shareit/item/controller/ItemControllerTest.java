@@ -14,8 +14,11 @@ import ru.practicum.shareit.exception.ApplicationExceptionHandler;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+import ru.practicum.shareit.item.dto.TimeWindowDto;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.time.LocalDateTime;
@@ -112,15 +115,30 @@ class ItemControllerTest {
 
     @Test
     void searchItems_Success() throws Exception {
-        when(itemService.searchItems("Drill")).thenReturn(List.of(itemDto));
+        when(itemService.searchItems("Drill", 0, 10)).thenReturn(new ItemSearchPageDto(List.of(itemDto), 1, true));
 
         mockMvc.perform(get("/items/search")
                         .param("text", "Drill"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Hits", "1"))
+                .andExpect(header().string("X-Total-Hits-Relation", "eq"))
                 .andExpect(jsonPath("$.size()").value(1))
                 .andExpect(jsonPath("$[0].id").value(itemDto.id()));
 
-        verify(itemService, times(1)).searchItems("Drill");
+        verify(itemService, times(1)).searchItems("Drill", 0, 10);
+    }
+
+    @Test
+    void searchItems_WithPage_ShouldReportTotalHitsLowerBound() throws Exception {
+        when(itemService.searchItems("a", 20, 5)).thenReturn(new ItemSearchPageDto(List.of(itemDto), 1000, false));
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "a")
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Hits", "1000"))
+                .andExpect(header().string("X-Total-Hits-Relation", "gte"));
     }
 
     @Test
@@ -136,4 +154,24 @@ class ItemControllerTest {
 
         verify(itemService, times(1)).addComment(eq(1L), eq(1L), anyString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemAvailability_Success() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        TimeWindowDto busy = new TimeWindowDto(from.plusDays(2), from.plusDays(4));
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(1L, from, to, List.of(busy),
+                List.of(new TimeWindowDto(from, busy.start()), new TimeWindowDto(busy.end(), to)));
+        when(itemService.getItemAvailability(1L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(get("/items/{itemId}/availability", 1L)
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-11T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId").value(1L))
+                .andExpect(jsonPath("$.busy.size()").value(1))
+                .andExpect(jsonPath("$.free.size()").value(2));
+
+        verify(itemService, times(1)).getItemAvailability(1L, from, to);
+    }
+}
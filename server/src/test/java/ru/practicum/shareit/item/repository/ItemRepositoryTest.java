@@ -0,0 +1,104 @@
+package ru.practicum.shareit.item.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:item-repository",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ItemRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Item drill;
+    private Item hammer;
+    private Item screwdriver;
+
+    @BeforeEach
+    void setUp() {
+        User owner = em.persist(new User(null, "Owner", "owner@example.com"));
+        hammer = em.persist(new Item(null, "Hammer", "Goes well with a DRILL set", true, owner, null));
+        drill = em.persist(new Item(null, "Cordless Drill", "Powerful", true, owner, null));
+        screwdriver = em.persist(new Item(null, "Screwdriver", "Drill bits included", false, owner, null));
+        em.flush();
+    }
+
+    @Test
+    void saveAll_ShouldInsertInBatches() {
+        User owner = em.persist(new User(null, "Lender", "lender@example.com"));
+        em.flush();
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        itemRepository.saveAll(IntStream.range(0, 120)
+                .mapToObj(i -> new Item(null, "Item " + i, null, true, owner, null))
+                .toList());
+        em.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        // A statement per batch of 50 and per block of ids rather than one per row.
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void search_ShouldMatchSubstringIgnoringCase() {
+        List<Item> result = itemRepository.search("dRiL", 0, 10).toList();
+
+        assertThat(result).extracting(Item::getId).containsExactly(drill.getId(), hammer.getId());
+    }
+
+    @Test
+    void search_ShouldReturnRequestedPage() {
+        List<Item> result = itemRepository.search("drill", 1, 1).toList();
+
+        assertThat(result).extracting(Item::getId).containsExactly(hammer.getId());
+    }
+
+    @Test
+    void findAllForSearchIndex_ShouldReturnEveryItemInIdOrder() {
+        try (Stream<ItemDto> items = itemRepository.findAllForSearchIndex()) {
+            assertThat(items.toList()).extracting(ItemDto::id, ItemDto::available, ItemDto::requestId)
+                    .containsExactly(
+                            tuple(hammer.getId(), true, null),
+                            tuple(drill.getId(), true, null),
+                            tuple(screwdriver.getId(), false, null));
+        }
+    }
+
+    @Test
+    void countMatches_ShouldStopAtLimit() {
+        assertThat(itemRepository.countMatches("drill", 10)).isEqualTo(2);
+        assertThat(itemRepository.countMatches("drill", 1)).isEqualTo(1);
+    }
+
+    @Test
+    void search_ShouldSkipUnavailableItems() {
+        List<Item> result = itemRepository.search("screw", 0, 10).toList();
+
+        assertThat(result).isEmpty();
+        assertThat(itemRepository.findById(screwdriver.getId())).isPresent();
+    }
+}
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:item-import",
+        "shareit.item-import.batch-size=2",
+        "shareit.item-import.max-errors=3",
+        "shareit.item-import.max-line-length=200"
+})
+@AutoConfigureMockMvc
+class ItemImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    private User owner;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", UUID.randomUUID() + "@import.test"));
+        request = requestRepository.save(new ItemRequest(null, "Need a saw", owner, LocalDateTime.now()));
+    }
+
+    @Test
+    void importItems_Ndjson_ShouldSaveValidRowsAndReportRejectedLines() throws Exception {
+        User other = userRepository.save(new User(null, "Other", UUID.randomUUID() + "@import.test"));
+        Item otherItem = itemRepository.save(new Item(null, "Canoe", "Red", true, other, null));
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType("application/x-ndjson")
+                        .content(String.join("\n",
+                                "{\"name\": \"Drill\", \"description\": \"Cordless\", \"available\": true}",
+                                "{\"name\": \"Broken",
+                                "",
+                                "{\"name\": \" \", \"description\": \"Blank name\", \"available\": true}",
+                                "{\"name\": \"Saw\", \"description\": \"Sharp\", \"available\": false, "
+                                        + "\"requestId\": " + request.getId() + "}",
+                                "{\"name\": \"Tent\", \"description\": \"Large\", \"available\": true, "
+                                        + "\"requestId\": -1}",
+                                "{\"id\": " + otherItem.getId() + ", \"name\": \"Kayak\", \"description\": "
+                                        + "\"Two seats\", \"available\": true}")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].error").value(containsString("Malformed JSON")))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[1].error").value("name must not be blank"))
+                .andExpect(jsonPath("$.errors[2].line").value(6))
+                .andExpect(jsonPath("$.errors[2].error").value("Item request not found: -1"));
+
+        assertThat(itemRepository.findAllByOwnerId(owner.getId()))
+                .extracting(Item::getName, Item::getAvailable, item -> item.getRequest() != null)
+                .containsExactlyInAnyOrder(
+                        tuple("Drill", true, false),
+                        tuple("Saw", false, true),
+                        tuple("Kayak", true, false));
+        assertThat(itemRepository.findById(otherItem.getId()).orElseThrow().getName()).isEqualTo("Canoe");
+    }
+
+    @Test
+    void importItems_NdjsonWithNonObjectOrOverlongLines_ShouldRejectThoseLines() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType("application/x-ndjson")
+                        .content(String.join("\r\n",
+                                "null",
+                                "[1, 2]",
+                                "{\"name\": \"Rope\", \"description\": \"" + "x".repeat(300)
+                                        + "\", \"available\": true}",
+                                "{\"name\": \"Drill\", \"description\": \"Cordless\", \"available\": true}")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(1))
+                .andExpect(jsonPath("$.errors[0].error").value("Expected a JSON object"))
+                .andExpect(jsonPath("$.errors[1].line").value(2))
+                .andExpect(jsonPath("$.errors[1].error").value("Expected a JSON object"))
+                .andExpect(jsonPath("$.errors[2].line").value(3))
+                .andExpect(jsonPath("$.errors[2].error").value("Line longer than 200 characters"));
+
+        assertThat(itemRepository.findAllByOwnerId(owner.getId()))
+                .extracting(Item::getName, Item::getDescription)
+                .containsExactly(tuple("Drill", "Cordless"));
+    }
+
+    @Test
+    void importItems_Csv_ShouldReadQuotedFieldsAndReportRejectedRecords() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType("text/csv")
+                        .content("Available,Name,Description,RequestId\r\n"
+                                + "true,Hammer,\"Heavy, with a \"\"claw\"\"\",\r\n"
+                                + "false,Ladder,\"Three\nsteps\"," + request.getId() + "\r\n"
+                                + "\r\n"
+                                + "maybe,Grill,Charcoal,\r\n"
+                                + "true,Bike\r\n"
+                                + "true,Tent,Large,abc\r\n"
+                                + "true,,Nameless,\r\n"
+                                + "true,Kayak,\"Unterminated"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(5))
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[0].line").value(6))
+                .andExpect(jsonPath("$.errors[0].error").value("available must be true or false"))
+                .andExpect(jsonPath("$.errors[1].line").value(7))
+                .andExpect(jsonPath("$.errors[1].error").value("Expected 4 fields but got 2"))
+                .andExpect(jsonPath("$.errors[2].line").value(8))
+                .andExpect(jsonPath("$.errors[2].error").value("requestId must be a number"));
+
+        assertThat(itemRepository.findAllByOwnerId(owner.getId()))
+                .extracting(Item::getName, Item::getDescription)
+                .containsExactlyInAnyOrder(
+                        tuple("Hammer", "Heavy, with a \"claw\""),
+                        tuple("Ladder", "Three\nsteps"));
+    }
+
+    @Test
+    void importItems_CsvWithoutRequiredColumns_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType("text/csv")
+                        .content("name,available\nDrill,true\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importItems_UnknownUser_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", -1)
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\": \"Drill\", \"description\": \"Cordless\", \"available\": true}\n"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void importItems_UnsupportedContentType_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<items/>"))
+                .andExpect(status().isBadRequest());
+    }
+}
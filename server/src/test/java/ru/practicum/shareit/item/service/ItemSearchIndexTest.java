@@ -0,0 +1,169 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+    private static final User OWNER = new User(1L, "Owner", "owner@example.com");
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(itemRepository, true);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void bootstrap_ShouldLoadItemsFromRepository() {
+        when(itemRepository.findAllForSearchIndex()).thenReturn(Stream.of(item(1L, "Drill", "Powerful", true)));
+
+        index.bootstrap();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids(index.search("drill", 0, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void bootstrap_Disabled_ShouldNotLoad() {
+        index = new ItemSearchIndex(itemRepository, false);
+
+        index.bootstrap();
+
+        assertThat(index.isReady()).isFalse();
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void search_ShouldMatchSubstringIgnoringCaseWithNameMatchesFirst() {
+        index.load(Stream.of(
+                item(1L, "Hammer", "Goes well with a DRILL set", true),
+                item(2L, "Cordless Drill", "Powerful", true),
+                item(3L, "Screwdriver", "Drill bits included", false),
+                item(4L, "Saw", "Sharp", true)));
+
+        ItemSearchPageDto result = index.search("dRiL", 0, 10);
+
+        assertThat(ids(result)).containsExactly(2L, 1L);
+        assertThat(result.totalHits()).isEqualTo(2);
+        assertThat(result.totalHitsExact()).isTrue();
+    }
+
+    @Test
+    void search_ShouldRequireWholeSubstringNotJustItsTrigrams() {
+        index.load(Stream.of(item(1L, "abc xbcd", "", true)));
+
+        assertThat(ids(index.search("abcd", 0, 10))).isEmpty();
+        assertThat(ids(index.search("xbcd", 0, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void search_ShortQuery_ShouldScanAllItems() {
+        index.load(Stream.of(item(1L, "Saw", "", true), item(2L, "Axe", "", true), item(3L, "Drill", "", true)));
+
+        assertThat(ids(index.search("a", 0, 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_ShouldReturnRequestedPageWithTotal() {
+        index.load(Stream.of(
+                item(1L, "Tool 1", "", true),
+                item(2L, "Other", "tool", true),
+                item(3L, "Tool 3", "", true),
+                item(4L, "Tool 4", "", true)));
+
+        ItemSearchPageDto result = index.search("tool", 2, 2);
+
+        assertThat(ids(result)).containsExactly(4L, 2L);
+        assertThat(result.totalHits()).isEqualTo(4);
+    }
+
+    @Test
+    void registerChange_ShouldReindexItemAfterCommit() {
+        index.load(Stream.of(item(1L, "Drill", "Powerful", true)));
+        Item renamed = new Item(1L, "Hammer", "Heavy", true, OWNER, null);
+
+        index.registerChange(renamed);
+        assertThat(ids(index.search("drill", 0, 10))).containsExactly(1L);
+
+        commit();
+
+        assertThat(ids(index.search("drill", 0, 10))).isEmpty();
+        assertThat(ids(index.search("heavy", 0, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void registerChange_ShouldHideItemThatBecameUnavailable() {
+        index.load(Stream.of(item(1L, "Drill", "Powerful", true)));
+
+        index.registerChange(new Item(1L, "Drill", "Powerful", false, OWNER, null));
+        commit();
+
+        assertThat(ids(index.search("drill", 0, 10))).isEmpty();
+    }
+
+    @Test
+    void registerChange_ShouldAddNewItems() {
+        index.load(Stream.empty());
+
+        for (long id = 1; id <= 2000; id++) {
+            index.registerChange(new Item(id, "Item " + id, "", true, OWNER, null));
+        }
+        commit();
+
+        assertThat(index.search("item", 0, 1).totalHits()).isEqualTo(2000);
+        assertThat(ids(index.search("item 1999", 0, 10))).containsExactly(1999L);
+    }
+
+    @Test
+    void search_ItemsIndexedOutOfIdOrder_ShouldStillOrderEachGroupById() {
+        index.load(Stream.of(item(100L, "Drill 100", "", true), item(200L, "Other", "drill", true)));
+
+        // Ids are handed out in pooled blocks, so an item created after bootstrap may have a lower id.
+        index.registerChange(new Item(50L, "Drill 50", "", true, OWNER, null));
+        index.registerChange(new Item(150L, "Another", "drill", true, OWNER, null));
+        commit();
+
+        assertThat(ids(index.search("drill", 0, 10))).containsExactly(50L, 100L, 150L, 200L);
+        assertThat(ids(index.search("drill", 1, 2))).containsExactly(100L, 150L);
+        assertThat(ids(index.search("dr", 0, 1))).containsExactly(50L);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static ItemDto item(Long id, String name, String description, boolean available) {
+        return new ItemDto(id, name, description, available, OWNER.getId(), null);
+    }
+
+    private static List<Long> ids(ItemSearchPageDto page) {
+        return page.items().stream().map(ItemDto::id).toList();
+    }
+}
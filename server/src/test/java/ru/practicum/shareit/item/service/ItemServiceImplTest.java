@@ -6,16 +6,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.dto.ItemBookingSlot;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.LastAndNextBookings;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingTimelineIndex;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchPageDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCommentRow;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -24,6 +31,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +51,15 @@ class ItemServiceImplTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private BookingTimelineIndex bookingTimelineIndex;
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -69,6 +86,7 @@ class ItemServiceImplTest {
         assertThat(createdItem.name()).isEqualTo(item.getName());
 
         verify(itemRepository).save(any(Item.class));
+        verify(itemSearchIndex).registerChange(any(Item.class));
     }
 
     @Test
@@ -116,17 +134,39 @@ class ItemServiceImplTest {
 
     @Test
     void getItemById_Success() {
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        User booker = new User(2L, "Booker", "booker@example.com");
+        Booking last = new Booking(1L, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1),
+                item, booker, Booking.BookingStatus.APPROVED);
+        LocalDateTime created = LocalDateTime.now();
+        when(itemRepository.findWithComments(item.getId())).thenReturn(List.of(
+                new ItemCommentRow(item, 1L, "Great", "Booker", created)));
+        when(bookingRepository.findLastAndNextBookings(item.getId())).thenReturn(new LastAndNextBookings(last, null));
 
         ItemResponseDto resultItem = itemService.getItemById(user.getId(), item.getId());
 
         assertThat(resultItem).isNotNull();
         assertThat(resultItem.name()).isEqualTo(item.getName());
+        assertThat(resultItem.lastBooking().id()).isEqualTo(last.getId());
+        assertThat(resultItem.nextBooking()).isNull();
+        assertThat(resultItem.comments()).containsExactly(new CommentDto(1L, "Great", "Booker", created));
+    }
+
+    @Test
+    void getItemById_NotOwner_ShouldSkipBookingLookup() {
+        when(itemRepository.findWithComments(item.getId())).thenReturn(List.of(
+                new ItemCommentRow(item, null, null, null, null)));
+
+        ItemResponseDto resultItem = itemService.getItemById(99L, item.getId());
+
+        assertThat(resultItem.lastBooking()).isNull();
+        assertThat(resultItem.nextBooking()).isNull();
+        assertThat(resultItem.comments()).isEmpty();
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
     void getItemById_ItemNotFound() {
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.empty());
+        when(itemRepository.findWithComments(item.getId())).thenReturn(List.of());
 
         assertThatThrownBy(() -> itemService.getItemById(user.getId(), item.getId()))
                 .isInstanceOf(NotFoundException.class)
@@ -135,19 +175,72 @@ class ItemServiceImplTest {
 
     @Test
     void searchItems_Success() {
-        when(itemRepository.search("Drill")).thenReturn(List.of(item));
+        when(itemRepository.search("Drill", 0, 10)).thenReturn(Stream.of(item));
 
-        List<ItemDto> resultItems = itemService.searchItems("Drill");
+        ItemSearchPageDto result = itemService.searchItems("Drill", 0, 10);
 
-        assertThat(resultItems).isNotEmpty();
-        assertThat(resultItems.get(0).name()).isEqualTo("Drill");
+        assertThat(result.items()).isNotEmpty();
+        assertThat(result.items().get(0).name()).isEqualTo("Drill");
+        assertThat(result.totalHits()).isEqualTo(1);
+        assertThat(result.totalHitsExact()).isTrue();
+        verify(itemRepository, never()).countMatches(anyString(), anyInt());
+    }
+
+    @Test
+    void searchItems_IndexReady_ShouldNotQueryDatabase() {
+        ItemSearchPageDto page = new ItemSearchPageDto(List.of(itemDto), 1, true);
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.search("Drill", 0, 100)).thenReturn(page);
+
+        ItemSearchPageDto result = itemService.searchItems("Drill", 0, 500);
+
+        assertThat(result).isEqualTo(page);
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void searchItems_FullPage_ShouldUseBoundedCount() {
+        when(itemRepository.search("Drill", 0, 1)).thenReturn(Stream.of(item));
+        when(itemRepository.countMatches("Drill", 1000)).thenReturn(1000L);
+
+        ItemSearchPageDto result = itemService.searchItems("Drill", 0, 1);
+
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.totalHits()).isEqualTo(1000);
+        assertThat(result.totalHitsExact()).isFalse();
+    }
+
+    @Test
+    void searchItems_ShouldCapPageSize() {
+        when(itemRepository.search("Drill", 0, 100)).thenReturn(Stream.of(item));
+
+        itemService.searchItems("Drill", 0, 5000);
+
+        verify(itemRepository).search("Drill", 0, 100);
+    }
+
+    @Test
+    void searchItems_ExtraWhitespace_ShouldSearchTrimmedAndCollapsedText() {
+        when(itemRepository.search("Drill set", 0, 10)).thenReturn(Stream.of(item));
+
+        ItemSearchPageDto result = itemService.searchItems(" Drill \t set  ", 0, 10);
+
+        assertThat(result.items()).hasSize(1);
+        verify(itemRepository).search("Drill set", 0, 10);
+    }
+
+    @Test
+    void searchItems_InvalidPage_ShouldThrowValidationException() {
+        assertThatThrownBy(() -> itemService.searchItems("Drill", -1, 10))
+                .isInstanceOf(ValidationException.class);
     }
 
     @Test
     void searchItems_EmptyText() {
-        List<ItemDto> resultItems = itemService.searchItems("");
+        ItemSearchPageDto result = itemService.searchItems("", 0, 10);
 
-        assertThat(resultItems).isEmpty();
+        assertThat(result.items()).isEmpty();
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
@@ -200,20 +293,20 @@ class ItemServiceImplTest {
 
     @Test
     void getUserItems_WithBookingsAndComments() {
-        Booking lastBooking = new Booking(1L, LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(1), item, user, Booking.BookingStatus.APPROVED);
-        Booking nextBooking = new Booking(2L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(5), item, user, Booking.BookingStatus.APPROVED);
+        ItemBookingSlot lastBooking = new ItemBookingSlot(item.getId(), true, 1L, user.getId(), LocalDateTime.now().minusDays(5), LocalDateTime.now().minusDays(1));
+        ItemBookingSlot nextBooking = new ItemBookingSlot(item.getId(), false, 2L, user.getId(), LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(5));
         Comment comment = new Comment(1L, "Good item!", item, user, LocalDateTime.now().minusDays(2));
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemRepository.findAllByOwnerId(user.getId())).thenReturn(List.of(item));
-        when(bookingRepository.findAllByItemIdInAndStatus(any(), eq(Booking.BookingStatus.APPROVED))).thenReturn(List.of(lastBooking, nextBooking));
+        when(bookingRepository.findLastAndNextBookingsByOwner(eq(user.getId()), any())).thenReturn(List.of(nextBooking, lastBooking));
         when(commentRepository.findAllByItemIdIn(any())).thenReturn(List.of(comment));
 
         List<ItemResponseDto> result = itemService.getUserItems(user.getId());
 
         assertThat(result).isNotEmpty();
-        assertThat(result.get(0).lastBooking()).isNotNull();
-        assertThat(result.get(0).nextBooking()).isNotNull();
+        assertThat(result.get(0).lastBooking().id()).isEqualTo(lastBooking.id());
+        assertThat(result.get(0).nextBooking().id()).isEqualTo(nextBooking.id());
         assertThat(result.get(0).comments()).isNotEmpty();
         assertThat(result.get(0).comments().get(0).text()).isEqualTo("Good item!");
     }
@@ -239,8 +332,51 @@ class ItemServiceImplTest {
 
     @Test
     void searchItems_WhitespaceText_ShouldReturnEmptyList() {
-        List<ItemDto> resultItems = itemService.searchItems("   ");
+        ItemSearchPageDto result = itemService.searchItems("   ", 0, 10);
+
+        assertThat(result.items()).isEmpty();
+    }
+
+    @Test
+    void getItemAvailability_Success() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(7);
+        ItemAvailabilityDto availability = new ItemAvailabilityDto(item.getId(), from, to, List.of(), List.of());
+        when(itemRepository.existsById(item.getId())).thenReturn(true);
+        when(bookingTimelineIndex.getAvailability(item.getId(), from, to)).thenReturn(availability);
+
+        ItemAvailabilityDto result = itemService.getItemAvailability(item.getId(), from, to);
+
+        assertThat(result).isEqualTo(availability);
+    }
 
-        assertThat(resultItems).isEmpty();
+    @Test
+    void getItemAvailability_LoadedTimeline_ShouldNotQueryItem() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(7);
+        when(bookingTimelineIndex.isLoaded(item.getId())).thenReturn(true);
+
+        itemService.getItemAvailability(item.getId(), from, to);
+
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void getItemAvailability_ItemNotFound() {
+        LocalDateTime from = LocalDateTime.now();
+        when(itemRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> itemService.getItemAvailability(99L, from, from.plusDays(1)))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Item not found");
+    }
+
+    @Test
+    void getItemAvailability_InvalidRange() {
+        LocalDateTime from = LocalDateTime.now();
+
+        assertThatThrownBy(() -> itemService.getItemAvailability(item.getId(), from, from.minusDays(1)))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Invalid availability range");
     }
-}
\ No newline at end of file
+}
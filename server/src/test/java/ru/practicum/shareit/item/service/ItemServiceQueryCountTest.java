@@ -0,0 +1,136 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:item-query-count",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ItemServiceQueryCountTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking last;
+    private Booking next;
+    private Item otherItem;
+    private Booking otherNext;
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "owner@item-query-count.test"));
+        booker = userRepository.save(new User(null, "Booker", "booker@item-query-count.test"));
+        item = itemRepository.save(new Item(null, "Drill", "Powerful drill", true, owner, null));
+
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, now.minusDays(10), now.minusDays(9), item, booker,
+                Booking.BookingStatus.APPROVED));
+        last = bookingRepository.save(new Booking(null, now.minusDays(3), now.minusDays(2), item, booker,
+                Booking.BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.minusDays(1), now.minusHours(1), item, booker,
+                Booking.BookingStatus.REJECTED));
+        next = bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3), item, booker,
+                Booking.BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                Booking.BookingStatus.WAITING));
+
+        otherItem = itemRepository.save(new Item(null, "Saw", "Sharp saw", true, owner, null));
+        otherNext = bookingRepository.save(new Booking(null, now.plusDays(5), now.plusDays(6), otherItem, booker,
+                Booking.BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(7), now.plusDays(8), otherItem, booker,
+                Booking.BookingStatus.APPROVED));
+
+        for (int i = 0; i < 3; i++) {
+            User author = userRepository.save(new User(null, "Author " + i, "author" + i + "@item-query-count.test"));
+            commentRepository.save(new Comment(null, "Comment " + i, item, author, now.minusDays(5).plusHours(i)));
+        }
+    }
+
+    @Test
+    void getItemById_Owner_ShouldUseTwoStatements() {
+        Statistics statistics = statistics();
+
+        ItemResponseDto result = itemService.getItemById(owner.getId(), item.getId());
+
+        assertThat(result.lastBooking().id()).isEqualTo(last.getId());
+        assertThat(result.lastBooking().bookerId()).isEqualTo(booker.getId());
+        assertThat(result.nextBooking().id()).isEqualTo(next.getId());
+        assertThat(result.comments()).extracting(CommentDto::authorName)
+                .containsExactly("Author 0", "Author 1", "Author 2");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getItemById_NotOwner_ShouldUseSingleStatement() {
+        Statistics statistics = statistics();
+
+        ItemResponseDto result = itemService.getItemById(booker.getId(), item.getId());
+
+        assertThat(result.lastBooking()).isNull();
+        assertThat(result.nextBooking()).isNull();
+        assertThat(result.comments()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getUserItems_ShouldReturnLastAndNextPerItemWithConstantStatements() {
+        Statistics statistics = statistics();
+
+        List<ItemResponseDto> result = itemService.getUserItems(owner.getId());
+
+        assertThat(result).extracting(ItemResponseDto::id).containsExactly(item.getId(), otherItem.getId());
+        assertThat(result.get(0).lastBooking().id()).isEqualTo(last.getId());
+        assertThat(result.get(0).nextBooking().id()).isEqualTo(next.getId());
+        assertThat(result.get(0).comments()).extracting(CommentDto::authorName).hasSize(3);
+        assertThat(result.get(1).lastBooking()).isNull();
+        assertThat(result.get(1).nextBooking().id()).isEqualTo(otherNext.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:service-metrics")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class ServiceMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void serviceCall_ShouldBeTimedWithBookingState() {
+        UserDto user = userService.createUser(new UserDto(null, "Metrics", "metrics@example.com"));
+
+        bookingService.getUserBookings(user.id(), BookingState.WAITING, 0, 10);
+
+        Timer timer = meterRegistry.find(ServiceMetricsInterceptor.METRIC)
+                .tags("service", "BookingService", "method", "getUserBookings",
+                        "outcome", "success", "exception", "none", "state", "WAITING")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedServiceCall_ShouldBeTimedWithException() {
+        assertThrows(NotFoundException.class, () -> userService.getUserById(-1L));
+
+        Timer timer = meterRegistry.find(ServiceMetricsInterceptor.METRIC)
+                .tags("service", "UserService", "method", "getUserById",
+                        "outcome", "error", "exception", "NotFoundException", "state", "none")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void prometheusEndpoint_ShouldExportHistogramBuckets() throws Exception {
+        userService.getAllUsers();
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("shareit_service_seconds_bucket{")))
+                .andExpect(content().string(containsString("method=\"getAllUsers\"")));
+    }
+}
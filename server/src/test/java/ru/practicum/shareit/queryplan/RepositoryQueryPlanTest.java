@@ -0,0 +1,225 @@
+package ru.practicum.shareit.queryplan;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSearchRepository;
+
+import java.lang.reflect.Method;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query method declared in the booking and item repositories against a seeded
+ * dataset and fails if the plan of any issued statement contains a full table scan.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.queryplan.CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+    private static final int USERS = 500;
+    private static final int REQUESTS = 500;
+    private static final int ITEMS = 5_000;
+    private static final int BOOKINGS = 50_000;
+    private static final int COMMENTS = 5_000;
+
+    private static final long USER_ID = 7L;
+    private static final long ITEM_ID = 42L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+    // H2 runs the LIKE fallback of the search, PostgreSQL serves it from the pg_trgm indexes.
+    // The search index bootstrap reads the whole table by design.
+    private static final Set<String> ALLOWED_FULL_SCANS = Set.of(
+            "ItemSearchRepository.search", "ItemSearchRepository.countMatches",
+            "ItemRepository.findAllForSearchIndex");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, Runnable> queries = new LinkedHashMap<>();
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO users (users_id, users_name, users_email) "
+                + "SELECT X, 'User ' || X, 'user' || X || '@plan.test' FROM SYSTEM_RANGE(1, " + USERS + ")");
+        jdbcTemplate.execute("INSERT INTO requests (requests_id, requests_description, requests_requestor_id, requests_created) "
+                + "SELECT X, 'Request ' || X, MOD(X, " + USERS + ") + 1, DATEADD('HOUR', X, TIMESTAMP '2030-01-01 00:00:00') "
+                + "FROM SYSTEM_RANGE(1, " + REQUESTS + ")");
+        jdbcTemplate.execute("INSERT INTO items (items_id, items_name, items_description, items_is_available, items_owner_id, items_request_id) "
+                + "SELECT X, 'Item ' || X, 'Description ' || X, MOD(X, 5) <> 0, MOD(X, " + USERS + ") + 1, "
+                + "CASEWHEN(MOD(X, 10) = 0, MOD(X, " + REQUESTS + ") + 1, NULL) FROM SYSTEM_RANGE(1, " + ITEMS + ")");
+        jdbcTemplate.execute("INSERT INTO bookings (bookings_start_date, bookings_end_date, bookings_item_id, bookings_booker_id, bookings_status) "
+                + "SELECT DATEADD('HOUR', X, TIMESTAMP '2030-01-01 00:00:00'), DATEADD('HOUR', X + 48, TIMESTAMP '2030-01-01 00:00:00'), "
+                + "MOD(X, " + ITEMS + ") + 1, MOD(X * 7, " + USERS + ") + 1, "
+                + "ARRAY_GET(ARRAY['WAITING', 'APPROVED', 'APPROVED', 'REJECTED'], MOD(X, 4) + 1) "
+                + "FROM SYSTEM_RANGE(1, " + BOOKINGS + ")");
+        jdbcTemplate.execute("INSERT INTO comments (comments_text, comments_item_id, comments_author_id, comments_created) "
+                + "SELECT 'Comment ' || X, MOD(X, " + ITEMS + ") + 1, MOD(X, " + USERS + ") + 1, "
+                + "DATEADD('HOUR', X, TIMESTAMP '2030-01-01 00:00:00') FROM SYSTEM_RANGE(1, " + COMMENTS + ")");
+        jdbcTemplate.execute("ANALYZE");
+
+        registerBookingQueries();
+        registerItemQueries();
+    }
+
+    @Test
+    void everyDeclaredQueryMethodIsCovered() {
+        Set<String> declared = Stream.of(BookingRepository.class, ItemRepository.class, ItemSearchRepository.class)
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> !method.isSynthetic() && !method.isDefault())
+                        .map(Method::getName)
+                        .map(name -> repository.getSimpleName() + "." + name))
+                .collect(Collectors.toSet());
+
+        assertThat(queries.keySet()).containsExactlyInAnyOrderElementsOf(declared);
+    }
+
+    @ParameterizedTest
+    @MethodSource("queryNames")
+    void queryPlanShouldNotContainFullTableScan(String name) {
+        CapturingStatementInspector.clear();
+        queries.get(name).run();
+        List<String> statements = CapturingStatementInspector.statements();
+
+        assertThat(statements).as("statements issued by %s", name).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            if (ALLOWED_FULL_SCANS.contains(name)) {
+                continue;
+            }
+            assertThat(plan).as("plan of %s", name).doesNotContain("tableScan");
+        }
+    }
+
+    Stream<String> queryNames() {
+        return queries.keySet().stream();
+    }
+
+    private void registerBookingQueries() {
+        ScrollPosition first = ScrollPosition.keyset();
+        ScrollPosition next = ScrollPosition.forward(Map.of("start", NOW, "id", 1000L));
+        Limit limit = Limit.of(10);
+        Booking.BookingStatus waiting = Booking.BookingStatus.WAITING;
+
+        register("BookingRepository.findByBookerIdOrderByStartDescIdDesc", () -> {
+            bookingRepository.findByBookerIdOrderByStartDescIdDesc(USER_ID, first, limit);
+            bookingRepository.findByBookerIdOrderByStartDescIdDesc(USER_ID, next, limit);
+        });
+        register("BookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc", () ->
+                bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(USER_ID, NOW, NOW, next, limit));
+        register("BookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc", () ->
+                bookingRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(USER_ID, NOW, next, limit));
+        register("BookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc", () ->
+                bookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc(USER_ID, NOW, next, limit));
+        register("BookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc", () ->
+                bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(USER_ID, waiting, next, limit));
+        register("BookingRepository.findByItemOwnerIdOrderByStartDescIdDesc", () -> {
+            bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(USER_ID, first, limit);
+            bookingRepository.findByItemOwnerIdOrderByStartDescIdDesc(USER_ID, next, limit);
+        });
+        register("BookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc", () ->
+                bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(USER_ID, NOW, NOW, next, limit));
+        register("BookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc", () ->
+                bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(USER_ID, NOW, next, limit));
+        register("BookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc", () ->
+                bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(USER_ID, NOW, next, limit));
+        register("BookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc", () ->
+                bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(USER_ID, waiting, next, limit));
+        register("BookingRepository.existsByBookerIdAndItemIdAndEndBefore", () ->
+                bookingRepository.existsByBookerIdAndItemIdAndEndBefore(USER_ID, ITEM_ID, NOW));
+        register("BookingRepository.existsApprovedOverlap", () ->
+                bookingRepository.existsApprovedOverlap(ITEM_ID, NOW, NOW.plusDays(1)));
+        register("BookingRepository.findLastAndNextBookings", () -> bookingRepository.findLastAndNextBookings(ITEM_ID));
+        register("BookingRepository.findLastAndNextBookingsByOwner", () ->
+                bookingRepository.findLastAndNextBookingsByOwner(USER_ID, NOW));
+        register("BookingRepository.findApprovedPeriods", () -> bookingRepository.findApprovedPeriods(ITEM_ID));
+        register("BookingRepository.findDecisionCandidates", () ->
+                bookingRepository.findDecisionCandidates(List.of(100L, 200L, 300L)));
+        register("BookingRepository.findWaitingDecisionCandidates", () ->
+                bookingRepository.findWaitingDecisionCandidates(ITEM_ID, limit));
+        register("BookingRepository.findApprovedBetween", () ->
+                bookingRepository.findApprovedBetween(List.of(ITEM_ID, ITEM_ID + 1), NOW, NOW.plusDays(7)));
+        register("BookingRepository.decideWaiting", () ->
+                bookingRepository.decideWaiting(List.of(100L, 200L, 300L), USER_ID, Booking.BookingStatus.REJECTED));
+    }
+
+    private void registerItemQueries() {
+        register("ItemRepository.findAllByOwnerId", () -> itemRepository.findAllByOwnerId(USER_ID));
+        register("ItemRepository.findWithComments", () -> itemRepository.findWithComments(ITEM_ID));
+        register("ItemSearchRepository.search", () -> itemRepository.search("item 4", 0, 10).toList());
+        register("ItemSearchRepository.countMatches", () -> itemRepository.countMatches("item 4", 1000));
+        register("ItemRepository.findAllForSearchIndex", () -> {
+            try (Stream<?> items = itemRepository.findAllForSearchIndex()) {
+                items.limit(10).forEach(item -> { });
+            }
+        });
+        register("ItemRepository.findByRequestIdIn", () -> itemRepository.findByRequestIdIn(List.of(10L, 20L)));
+        register("ItemRepository.lockAllById", () -> itemRepository.lockAllById(List.of(ITEM_ID, ITEM_ID + 1)));
+    }
+
+    private void register(String name, Runnable query) {
+        queries.put(name, query);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((java.sql.Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                bindSampleParameters(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    List<String> rows = new ArrayList<>();
+                    while (resultSet.next()) {
+                        rows.add(resultSet.getString(1));
+                    }
+                    return String.join("\n", rows);
+                }
+            }
+        });
+    }
+
+    private static void bindSampleParameters(PreparedStatement statement) throws java.sql.SQLException {
+        ParameterMetaData metaData = statement.getParameterMetaData();
+        for (int i = 1; i <= metaData.getParameterCount(); i++) {
+            switch (metaData.getParameterType(i)) {
+                case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> statement.setTimestamp(i, Timestamp.valueOf(NOW));
+                case Types.BOOLEAN -> statement.setBoolean(i, true);
+                case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR, Types.CLOB -> statement.setString(i, "APPROVED");
+                default -> statement.setLong(i, 10L);
+            }
+        }
+    }
+}